@@ -4,10 +4,7 @@ import model.Colour;
 import model.Move;
 import model.piece.*;
 
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 /**
  * Represents the game board.
@@ -17,8 +14,10 @@ public class Board {
 
     private final Square[] gameState;
     private final List<Move> history;
+    private final List<MoveListener> listeners;
     private Pawn lastEnPassantTarget;
     private boolean isGameOver;
+    private int plyCount;
 
     /**
      * @EFFECTS: Constructs a new empty board.
@@ -26,8 +25,10 @@ public class Board {
     public Board() {
         this.gameState = new Square[SIZE * SIZE];
         this.history = new LinkedList<>();
+        this.listeners = new ArrayList<>();
         this.lastEnPassantTarget = null;
         this.isGameOver = false;
+        this.plyCount = 0;
 
         // Initialize an empty board.
         for (int i = 0; i < gameState.length; i++) {
@@ -36,6 +37,74 @@ public class Board {
         setupPieces();
     }
 
+    /**
+     * @EFFECTS: Constructs a copy of the given board with its own squares and pieces, so that moves can be tried on it
+     * without affecting the original. The move history of the copy refers to the squares of the original, and move
+     * listeners are not copied.
+     */
+    public Board(Board board) {
+        this(board, new LinkedList<>(board.history));
+    }
+
+    /**
+     * @EFFECTS: Constructs a copy of the given board with the given move history, as with the copy constructor.
+     */
+    private Board(Board board, List<Move> history) {
+        this.gameState = new Square[SIZE * SIZE];
+        this.history = history;
+        this.listeners = new ArrayList<>();
+        this.lastEnPassantTarget = null;
+        this.isGameOver = board.isGameOver;
+        this.plyCount = board.plyCount;
+
+        for (int i = 0; i < gameState.length; i++) {
+            Square square = board.gameState[i];
+            gameState[i] = new Square(square.getX(), square.getY());
+
+            if (square.hasPiece()) {
+                gameState[i].setPiece(square.getPiece().copy());
+                if (square.getPiece() == board.lastEnPassantTarget) {
+                    lastEnPassantTarget = (Pawn) gameState[i].getPiece();
+                }
+            }
+        }
+    }
+
+    /**
+     * @EFFECTS: Returns a copy of this board like the copy constructor, but without the moves made so far, so that the
+     * cost of a copy does not grow with the length of the game. The current player and the en passant target are
+     * kept, and only the moves made on the copy are in its history.
+     */
+    public Board copyPosition() {
+        return new Board(this, new LinkedList<>());
+    }
+
+    /**
+     * @EFFECTS: Constructs a board with the given pieces (indexed by {@code y * SIZE + x}, {@code null} if empty) after
+     * the given moves. The pieces are used as they are, and the moves may refer to the squares of another board, as
+     * with the copy constructor.
+     * @REQUIRES: {@code pieces.length == SIZE * SIZE}, and the pieces are the position reached by the moves
+     */
+    public Board(Piece[] pieces, List<Move> history) {
+        this.gameState = new Square[SIZE * SIZE];
+        this.history = new LinkedList<>(history);
+        this.listeners = new ArrayList<>();
+        this.lastEnPassantTarget = null;
+        this.plyCount = history.size();
+
+        int kingCount = 0;
+        for (int i = 0; i < gameState.length; i++) {
+            gameState[i] = new Square(i % SIZE, i / SIZE);
+            gameState[i].setPiece(pieces[i]);
+
+            if (pieces[i] instanceof Pawn && ((Pawn) pieces[i]).getEnPassable()) {
+                lastEnPassantTarget = (Pawn) pieces[i];
+            }
+            kingCount += pieces[i] instanceof King ? 1 : 0;
+        }
+        this.isGameOver = kingCount < Colour.values().length;
+    }
+
     /**
      * @EFFECTS: Updates the board according to the given move.
      * @MODIFIES: {@code this}, {@code move}
@@ -64,10 +133,28 @@ public class Board {
         move.getEnd().setPiece(move.getMovedPiece());
         move.getStart().setPiece(null);
         history.add(move);
+        plyCount++;
 
         if (move.getEnd().getPiece() instanceof Pawn) {
             doPromotion(move);
         }
+        notifyListeners(move);
+    }
+
+    /**
+     * @EFFECTS: Registers the given listener to be notified after every move.
+     * @MODIFIES: {@code this}
+     */
+    public void addMoveListener(MoveListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @EFFECTS: Unregisters the given listener.
+     * @MODIFIES: {@code this}
+     */
+    public void removeMoveListener(MoveListener listener) {
+        listeners.remove(listener);
     }
 
     /**
@@ -85,11 +172,56 @@ public class Board {
         return visibleSquares;
     }
 
+    /**
+     * @EFFECTS: Returns a snapshot of the pieces on the board, indexed by {@code y * SIZE + x} and {@code null} if
+     * empty. Only the array is copied, so the snapshot is cheap to take after every move, and the pieces are only
+     * safe to read for their type and colour once the board has moved on.
+     */
+    public Piece[] getPosition() {
+        Piece[] position = new Piece[gameState.length];
+        for (int i = 0; i < gameState.length; i++) {
+            position[i] = gameState[i].getPiece();
+        }
+        return position;
+    }
+
+    /**
+     * @EFFECTS: Returns the bit mask of the given squares, where the square at ({@code x}, {@code y}) is the bit
+     * {@code y * SIZE + x}.
+     */
+    public static long getMask(Set<Square> squares) {
+        long mask = 0L;
+        for (Square square : squares) {
+            mask |= 1L << (square.getY() * SIZE + square.getX());
+        }
+        return mask;
+    }
+
+    /**
+     * @EFFECTS: Returns the squares whose contents may have been changed by the given move: its start and end squares,
+     * the rook squares of a castle, and the square behind a diagonal pawn move (which held the victim of an en
+     * passant capture).
+     * @REQUIRES: after {@code doMove(move)}
+     */
+    public List<Square> getChangedSquares(Move move) {
+        List<Square> changedSquares = new ArrayList<>(List.of(move.getStart(), move.getEnd()));
+        int direction = Integer.signum(move.getEnd().getX() - move.getStart().getX());
+
+        if (move.getFlag(Move.CASTLE)) {
+            changedSquares.add(getSquare(direction < 0 ? 0 : SIZE - 1, move.getEnd().getY()));
+            changedSquares.add(getSquare(move.getEnd().getX() - direction, move.getEnd().getY()));
+        } else if (move.getMovedPiece() instanceof Pawn && direction != 0) {
+            changedSquares.add(getSquare(move.getEnd().getX(),
+                    move.getEnd().getY() - move.getMovedPiece().getColour().getDirection()));
+        }
+        return changedSquares;
+    }
+
     /**
      * @EFFECTS: Returns the player colour whose turn it currently is.
      */
     public Colour getCurrentPlayer() {
-        return Colour.values()[history.size() % Colour.values().length];
+        return Colour.values()[plyCount % Colour.values().length];
     }
 
     /**
@@ -204,4 +336,14 @@ public class Board {
             move.setFlag(Move.PROMOTE);
         }
     }
+
+    /**
+     * @EFFECTS: Notifies every listener of the given move.
+     * @REQUIRES: after {@code doMove(move)}
+     */
+    private void notifyListeners(Move move) {
+        for (MoveListener listener : listeners) {
+            listener.moveDone(move);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package model.board;
+
+import model.Colour;
+import model.Move;
+import model.piece.Piece;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a game prepared for replaying. The position and the squares visible to each player are recorded after
+ * every ply while the replay is built, so that jumping to any ply is a lookup rather than a replay.
+ */
+public class GameReplay {
+    private final List<Move> moves;
+    private final Piece[][] positions;
+    private final long[][] visibleMasks;
+
+    /**
+     * @EFFECTS: Constructs a new replay of the given moves by playing them on a new board.
+     * @REQUIRES: the moves were played in order from the starting position
+     */
+    public GameReplay(List<Move> moves) {
+        Board board = new Board();
+        this.moves = new ArrayList<>(moves.size());
+        this.positions = new Piece[moves.size() + 1][];
+        this.visibleMasks = new long[moves.size() + 1][];
+
+        record(board, 0);
+        for (Move move : moves) {
+            Move boardMove = new Move(board.getSquare(move.getStart().getX(), move.getStart().getY()),
+                    board.getSquare(move.getEnd().getX(), move.getEnd().getY()));
+            board.doMove(boardMove);
+            this.moves.add(boardMove);
+            record(board, this.moves.size());
+        }
+    }
+
+    /**
+     * @EFFECTS: Returns the pieces on the board after the given ply, indexed by {@code y * Board.SIZE + x} and
+     * {@code null} if empty. The array is shared, and the pieces only have their type and colour in common with the
+     * pieces of the game.
+     * @REQUIRES: {@code 0 <= ply <= getPlyCount()}, and the array is not modified
+     */
+    public Piece[] getPosition(int ply) {
+        return positions[ply];
+    }
+
+    /**
+     * @EFFECTS: Returns the bit mask of the squares visible to the given player after the given ply.
+     * @REQUIRES: {@code 0 <= ply <= getPlyCount()}
+     */
+    public long getVisibleMask(int ply, Colour colour) {
+        return visibleMasks[ply][colour.ordinal()];
+    }
+
+    /**
+     * @EFFECTS: Returns the moves of the game, where the move at index {@code i} was played to reach ply {@code i + 1}.
+     * The moves refer to the squares of the board the replay was built on.
+     */
+    public List<Move> getMoves() {
+        return Collections.unmodifiableList(moves);
+    }
+
+    public int getPlyCount() {
+        return moves.size();
+    }
+
+    /**
+     * @EFFECTS: Records the position of the given board and the squares visible to each player as the given ply.
+     * @MODIFIES: {@code this}
+     */
+    private void record(Board board, int ply) {
+        positions[ply] = board.getPosition();
+
+        visibleMasks[ply] = new long[Colour.values().length];
+        for (Colour colour : Colour.values()) {
+            visibleMasks[ply][colour.ordinal()] = Board.getMask(board.getVisibleSquares(colour));
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package model.board;
+
+import model.Move;
+
+/**
+ * Indicates that an object is notified of every move applied to a board.
+ */
+public interface MoveListener {
+    void moveDone(Move move);
+}
@@ -0,0 +1,156 @@
+package model.engine;
+
+import model.Colour;
+import model.Move;
+import model.board.Board;
+import model.board.Square;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Represents a computer player that searches on a background thread. While its opponent is thinking, it keeps
+ * searching the position after their predicted move (pondering), sharing one transposition table between searches.
+ * The engine only searches what it can see, with the opponent pieces hidden by fog-of-war removed from the board.
+ */
+public class Engine {
+    private static final int TABLE_BITS = 20;
+
+    private final int depth;
+    private final TranspositionTable table;
+    private final ExecutorService executor;
+
+    private volatile int predictedMove;
+    private Search ponderSearch;
+    private long ponderHash;
+    private CompletableFuture<Move> ponderResult;
+    private int ponderHitCount;
+
+    /**
+     * @EFFECTS: Constructs a new engine with the given params and starts its search thread.
+     * @REQUIRES: {@code depth > 0}
+     */
+    public Engine(int depth) {
+        this.depth = depth;
+        this.table = new TranspositionTable(TABLE_BITS);
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.predictedMove = -1;
+        this.ponderSearch = null;
+        this.ponderResult = null;
+        this.ponderHitCount = 0;
+    }
+
+    /**
+     * @EFFECTS: Returns the future reply of the engine on the given board, completed on the search thread. If the
+     * opponent played the predicted move and nothing else came into view, the running ponder search is reused instead
+     * of starting a new one.
+     * @MODIFIES: {@code this}
+     */
+    public synchronized CompletableFuture<Move> getReply(Board board) {
+        Board copy = getKnownBoard(board, board.getCurrentPlayer());
+        CompletableFuture<Move> result;
+
+        if (ponderResult != null && ponderHash == Zobrist.hash(copy)) {
+            result = ponderResult;
+            ponderHitCount++;
+        } else {
+            stopPondering();
+            result = submit(new Search(depth, table), copy);
+        }
+        ponderResult = null;
+        ponderSearch = null;
+        return result.thenApply(move -> move == null ? null : new Move(
+                board.getSquare(move.getStart().getX(), move.getStart().getY()),
+                board.getSquare(move.getEnd().getX(), move.getEnd().getY())));
+    }
+
+    /**
+     * @EFFECTS: Starts searching the position after the predicted move of the opponent on the given board, if any.
+     * @MODIFIES: {@code this}
+     * @REQUIRES: after {@code Board.doMove} applies the last reply of the engine
+     */
+    public synchronized void ponder(Board board) {
+        Colour colour = Colour.values()[(board.getCurrentPlayer().ordinal() + 1) % Colour.values().length];
+        Board knownBoard = getKnownBoard(board, colour);
+        Move move = getPredictedMove(knownBoard);
+        if (move == null) {
+            return;
+        }
+
+        stopPondering();
+        Board copy = Search.getChild(knownBoard, move);
+        ponderSearch = new Search(depth, table);
+        ponderHash = Zobrist.hash(copy);
+        ponderResult = submit(ponderSearch, copy);
+    }
+
+    /**
+     * @EFFECTS: Returns the predicted move of the opponent on the given board, or {@code null} if there is none.
+     * @REQUIRES: after {@code Board.doMove} applies the last reply of the engine
+     */
+    public Move getPredictedMove(Board board) {
+        Move move = predictedMove < 0 || board.isGameOver() ? null : Search.decode(board, predictedMove);
+        return move != null && move.isValid(board) ? move : null;
+    }
+
+    /**
+     * @EFFECTS: Stops any running searches and the search thread.
+     * @MODIFIES: {@code this}
+     */
+    public synchronized void shutdown() {
+        stopPondering();
+        executor.shutdownNow();
+    }
+
+    public synchronized int getPonderHitCount() {
+        return ponderHitCount;
+    }
+
+    /**
+     * @EFFECTS: Returns a copy of the given board without the opponent pieces that the given player cannot see.
+     */
+    static Board getKnownBoard(Board board, Colour colour) {
+        Board knownBoard = new Board(board);
+        Set<Square> visibleSquares = board.getVisibleSquares(colour);
+
+        for (int i = 0; i < Board.SIZE * Board.SIZE; i++) {
+            Square square = board.getSquare(i % Board.SIZE, i / Board.SIZE);
+            if (!visibleSquares.contains(square)) {
+                knownBoard.getSquare(square.getX(), square.getY()).setPiece(null);
+            }
+        }
+        return knownBoard;
+    }
+
+    /**
+     * @EFFECTS: Queues the given search on the search thread, and predicts the reply to its result when it finishes.
+     */
+    private CompletableFuture<Move> submit(Search search, Board board) {
+        return CompletableFuture.supplyAsync(() -> {
+            Move move = search.getBestMove(board);
+            List<Move> line = search.getPrincipalVariation(board, 2);
+            predictedMove = line.size() == 2 ? Search.encode(line.get(1)) : -1;
+            return move;
+        }, executor);
+    }
+
+    /**
+     * @EFFECTS: Stops the current ponder search, if any.
+     * @MODIFIES: {@code this}
+     */
+    private void stopPondering() {
+        if (ponderSearch != null) {
+            ponderSearch.stop();
+        }
+        ponderSearch = null;
+        ponderResult = null;
+    }
+}
@@ -0,0 +1,395 @@
+package model.engine;
+
+import model.Move;
+import model.board.Board;
+import model.board.Square;
+import model.piece.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Represents an iterative deepening alpha-beta search for the best move, extended at the leaves by a capture-only
+ * quiescence search. The search sees every piece on the board it is given, so callers playing under fog-of-war give
+ * it a board without the pieces they cannot see.
+ */
+public class Search {
+    public static final int MATE = 100000;
+    private static final int DELTA_MARGIN = 200;
+    private static final int DEFAULT_TABLE_BITS = 16;
+    private static final int KING_ORDER_VALUE = 1000;
+
+    private final int depth;
+    private final TranspositionTable table;
+    private long nodeCount;
+    private int score;
+    private int completedDepth;
+    private volatile boolean isStopped;
+
+    /**
+     * @EFFECTS: Constructs a new search with the given params and its own transposition table.
+     * @REQUIRES: {@code depth > 0}
+     */
+    public Search(int depth) {
+        this(depth, new TranspositionTable(DEFAULT_TABLE_BITS));
+    }
+
+    /**
+     * @EFFECTS: Constructs a new search with the given params, sharing the given transposition table.
+     * @REQUIRES: {@code depth > 0}
+     */
+    public Search(int depth, TranspositionTable table) {
+        this.depth = depth;
+        this.table = table;
+        this.nodeCount = 0;
+        this.score = 0;
+        this.completedDepth = 0;
+        this.isStopped = false;
+    }
+
+    /**
+     * @EFFECTS: Returns the best move for the current player on the given board, or {@code null} if there are none.
+     * Searches iteratively deeper, and returns the result of the last completed depth if stopped early.
+     * @MODIFIES: {@code this}
+     */
+    public Move getBestMove(Board board) {
+        return getBestMove(board, search -> { /* pass */ });
+    }
+
+    /**
+     * @EFFECTS: See {@code getBestMove}, and calls the given listener on the search thread after each completed depth.
+     * @MODIFIES: {@code this}
+     */
+    public Move getBestMove(Board board, Consumer<Search> listener) {
+        Move bestMove = null;
+
+        for (int i = 1; i <= depth && !isStopped; i++) {
+            Move move = searchRoot(board, i);
+            if (!isStopped) {
+                bestMove = move;
+                completedDepth = i;
+                listener.accept(this);
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * @EFFECTS: Returns up to {@code length} moves of the best line found so far from the given board, starting with
+     * the best move. The moves refer to copies of the board, except for the first.
+     */
+    public List<Move> getPrincipalVariation(Board board, int length) {
+        List<Move> moves = new ArrayList<>();
+        Board current = board;
+
+        while (moves.size() < length && !current.isGameOver()) {
+            TranspositionTable.Entry entry = table.get(Zobrist.hash(current));
+            Move move = entry == null ? null : decode(current, entry.getMove());
+            if (move == null || !move.isValid(current)) {
+                break;
+            }
+            moves.add(move);
+            current = getChild(current, move);
+        }
+        return moves;
+    }
+
+    /**
+     * @EFFECTS: Stops the search as soon as possible. Safe to call from any thread.
+     * @MODIFIES: {@code this}
+     */
+    public void stop() {
+        isStopped = true;
+    }
+
+    public boolean isStopped() {
+        return isStopped;
+    }
+
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * @EFFECTS: Returns the material value of the given piece.
+     */
+    public static int getValue(Piece piece) {
+        if (piece instanceof Pawn) {
+            return 100;
+        } else if (piece instanceof Knight || piece instanceof Bishop) {
+            return 300;
+        } else if (piece instanceof Rook) {
+            return 500;
+        } else if (piece instanceof Queen) {
+            return 900;
+        }
+        return MATE;
+    }
+
+    /**
+     * @EFFECTS: Returns the value of the given piece for ordering its captures, where the king is worth just more than
+     * a queen instead of a mate, so that its captures are still tried before every quiet move.
+     */
+    private static int getAttackerValue(Piece piece) {
+        return Math.min(getValue(piece), KING_ORDER_VALUE);
+    }
+
+    /**
+     * @EFFECTS: Returns the static evaluation of the given board from the perspective of the current player.
+     */
+    public static int evaluate(Board board) {
+        if (board.isGameOver()) {
+            return -MATE;
+        }
+
+        int score = 0;
+        for (int i = 0; i < Board.SIZE * Board.SIZE; i++) {
+            Square square = board.getSquare(i % Board.SIZE, i / Board.SIZE);
+            if (square.hasPiece() && !(square.getPiece() instanceof King)) {
+                int value = getValue(square.getPiece());
+                score += square.getPiece().getColour() == board.getCurrentPlayer() ? value : -value;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * @EFFECTS: Returns the moves of the current player ordered with the most valuable captures first, generating
+     * only captures if {@code capturesOnly}.
+     */
+    public static List<Move> getMoves(Board board, boolean capturesOnly) {
+        List<Move> moves = new ArrayList<>();
+
+        for (int i = 0; i < Board.SIZE * Board.SIZE; i++) {
+            Square square = board.getSquare(i % Board.SIZE, i / Board.SIZE);
+            if (square.hasPiece() && square.getPiece().getColour() == board.getCurrentPlayer()) {
+                Set<Square> squares = capturesOnly ? square.getPiece().getCaptureSquares(board, square)
+                        : square.getPiece().getValidSquares(board, square);
+                for (Square end : squares) {
+                    moves.add(new Move(square, end));
+                }
+            }
+        }
+
+        // Most valuable victim, least valuable attacker.
+        moves.sort(Comparator.comparingInt(m -> getAttackerValue(m.getStart().getPiece()) - 16 * getCapturedValue(m)));
+        return moves;
+    }
+
+    /**
+     * @EFFECTS: Returns a copy of the given board with the given move applied to it.
+     * @REQUIRES: {@code move.isValid(board)}
+     */
+    public static Board getChild(Board board, Move move) {
+        Board child = board.copyPosition();
+        child.doMove(new Move(child.getSquare(move.getStart().getX(), move.getStart().getY()),
+                child.getSquare(move.getEnd().getX(), move.getEnd().getY())));
+        return child;
+    }
+
+    /**
+     * @EFFECTS: Encodes the given move as its start and end square indices.
+     */
+    public static int encode(Move move) {
+        return (move.getStart().getY() * Board.SIZE + move.getStart().getX()) * Board.SIZE * Board.SIZE
+                + move.getEnd().getY() * Board.SIZE + move.getEnd().getX();
+    }
+
+    /**
+     * @EFFECTS: Returns the move with the given encoding on the given board, or {@code null} if there is no piece of
+     * the current player on its start square.
+     */
+    public static Move decode(Board board, int code) {
+        int start = code / (Board.SIZE * Board.SIZE);
+        int end = code % (Board.SIZE * Board.SIZE);
+        Square square = board.getSquare(start % Board.SIZE, start / Board.SIZE);
+
+        if (!square.hasPiece() || square.getPiece().getColour() != board.getCurrentPlayer()) {
+            return null;
+        }
+        return new Move(square, board.getSquare(end % Board.SIZE, end / Board.SIZE));
+    }
+
+    /**
+     * @EFFECTS: Returns the best move on the given board searched to the given depth, and stores it in the table.
+     * @MODIFIES: {@code this}
+     */
+    private Move searchRoot(Board board, int depth) {
+        Move bestMove = null;
+        int alpha = -MATE - 1;
+
+        for (Move move : getOrderedMoves(board, Zobrist.hash(board))) {
+            int score = -search(getChild(board, move), depth - 1, -MATE - 1, -alpha);
+            if (isStopped) {
+                return null;
+            } else if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+            }
+        }
+
+        if (bestMove != null) {
+            table.put(Zobrist.hash(board), depth, alpha, TranspositionTable.EXACT, encode(bestMove));
+            score = alpha;
+        }
+        return bestMove;
+    }
+
+    /**
+     * @EFFECTS: Returns the negamax score of the given board searched to the given depth.
+     * @MODIFIES: {@code this}
+     */
+    private int search(Board board, int depth, int alpha, int beta) {
+        if (isStopped || depth == 0 || board.isGameOver()) {
+            return isStopped ? 0 : quiesce(board, alpha, beta);
+        }
+        nodeCount++;
+
+        long hash = Zobrist.hash(board);
+        TranspositionTable.Entry entry = table.get(hash);
+        if (entry != null && entry.getDepth() >= depth && isUsable(entry, alpha, beta)) {
+            return entry.getScore();
+        }
+
+        int bestScore = -MATE - 1;
+        Move bestMove = null;
+        for (Move move : getOrderedMoves(board, hash)) {
+            int score = -search(getChild(board, move), depth - 1, -beta, -Math.max(alpha, bestScore));
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+            }
+            if (bestScore >= beta) {
+                break;
+            }
+        }
+        return store(board, hash, depth, bestScore, alpha, beta, bestMove);
+    }
+
+    /**
+     * @EFFECTS: Stores the given search result in the table, and returns its score.
+     * @MODIFIES: {@code this}
+     */
+    private int store(Board board, long hash, int depth, int score, int alpha, int beta, Move bestMove) {
+        if (bestMove == null) {
+            return evaluate(board);
+        } else if (!isStopped) {
+            int bound = score <= alpha ? TranspositionTable.UPPER_BOUND
+                    : score >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+            table.put(hash, depth, score, bound, encode(bestMove));
+        }
+        return score;
+    }
+
+    /**
+     * @EFFECTS: Returns {@code true} if the given table entry decides the score within the given window.
+     */
+    private static boolean isUsable(TranspositionTable.Entry entry, int alpha, int beta) {
+        switch (entry.getBound()) {
+            case TranspositionTable.LOWER_BOUND:
+                return entry.getScore() >= beta;
+            case TranspositionTable.UPPER_BOUND:
+                return entry.getScore() <= alpha;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * @EFFECTS: Returns the moves of the current player, trying the best move stored in the table first.
+     */
+    private List<Move> getOrderedMoves(Board board, long hash) {
+        List<Move> moves = getMoves(board, false);
+        TranspositionTable.Entry entry = table.get(hash);
+
+        if (entry != null) {
+            for (int i = 0; i < moves.size(); i++) {
+                if (encode(moves.get(i)) == entry.getMove()) {
+                    moves.add(0, moves.remove(i));
+                    break;
+                }
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * @EFFECTS: Returns the score of the given board after all profitable captures have been resolved.
+     * @MODIFIES: {@code this}
+     */
+    private int quiesce(Board board, int alpha, int beta) {
+        if (isStopped) {
+            return 0;
+        }
+        nodeCount++;
+        int standPat = evaluate(board);
+        if (board.isGameOver() || standPat >= beta) {
+            return standPat;
+        }
+        alpha = Math.max(alpha, standPat);
+
+        for (Move move : getMoves(board, true)) {
+            int capturedValue = getCapturedValue(move);
+
+            // Delta pruning: skip captures that cannot raise the score to alpha, even with a positional margin.
+            if (standPat + capturedValue + DELTA_MARGIN <= alpha) {
+                continue;
+            }
+
+            Board child = getChild(board, move);
+            if (!isLosingCapture(child, move, capturedValue)) {
+                alpha = Math.max(alpha, -quiesce(child, -beta, -alpha));
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+        return alpha;
+    }
+
+    /**
+     * @EFFECTS: Returns {@code true} if the given capture gives up a more valuable piece to an immediate recapture,
+     * as a cheap static exchange estimate.
+     * @REQUIRES: after {@code child} applies {@code move}
+     */
+    private static boolean isLosingCapture(Board child, Move move, int capturedValue) {
+        int attackerValue = getValue(move.getStart().getPiece());
+        if (attackerValue <= capturedValue || child.isGameOver()) {
+            return false;
+        }
+
+        Square end = child.getSquare(move.getEnd().getX(), move.getEnd().getY());
+        for (Move reply : getMoves(child, true)) {
+            if (reply.getEnd() == end) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @EFFECTS: Returns the value of the piece captured by the given move, or 0 if it is not a capture.
+     * @REQUIRES: before {@code Board.doMove(move)}
+     */
+    private static int getCapturedValue(Move move) {
+        if (move.getEnd().hasPiece()) {
+            return getValue(move.getEnd().getPiece());
+        }
+
+        // An en passant capture is the only diagonal pawn move onto an empty square.
+        boolean isEnPassant = move.getStart().getPiece() instanceof Pawn
+                && move.getStart().getX() != move.getEnd().getX();
+        return isEnPassant ? getValue(move.getStart().getPiece()) : 0;
+    }
+}
@@ -0,0 +1,88 @@
+package model.engine;
+
+/**
+ * Represents a fixed-size table of search results keyed by position hash, which can be shared between searches.
+ */
+public class TranspositionTable {
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+
+    private final Entry[] entries;
+
+    /**
+     * @EFFECTS: Constructs a new empty table with {@code 2^sizeBits} slots.
+     */
+    public TranspositionTable(int sizeBits) {
+        this.entries = new Entry[1 << sizeBits];
+    }
+
+    /**
+     * @EFFECTS: Returns the entry stored for the given hash, or {@code null} if there is none.
+     */
+    public Entry get(long hash) {
+        Entry entry = entries[getIndex(hash)];
+        return entry != null && entry.getHash() == hash ? entry : null;
+    }
+
+    /**
+     * @EFFECTS: Stores a search result for the given hash, unless a deeper result for it is already stored.
+     * @MODIFIES: {@code this}
+     */
+    public void put(long hash, int depth, int score, int bound, int move) {
+        int index = getIndex(hash);
+        Entry entry = entries[index];
+        if (entry == null || entry.getHash() != hash || entry.getDepth() <= depth) {
+            entries[index] = new Entry(hash, depth, score, bound, move);
+        }
+    }
+
+    /**
+     * @EFFECTS: Returns the slot of the given hash.
+     */
+    private int getIndex(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & (entries.length - 1);
+    }
+
+    /**
+     * Represents a single search result. Entries are immutable, so they can be read while another thread is searching.
+     */
+    public static final class Entry {
+        private final long hash;
+        private final int depth;
+        private final int score;
+        private final int bound;
+        private final int move;
+
+        /**
+         * @EFFECTS: Constructs a new entry with the given params.
+         */
+        private Entry(long hash, int depth, int score, int bound, int move) {
+            this.hash = hash;
+            this.depth = depth;
+            this.score = score;
+            this.bound = bound;
+            this.move = move;
+        }
+
+        public long getHash() {
+            return hash;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public int getBound() {
+            return bound;
+        }
+
+        public int getMove() {
+            return move;
+        }
+    }
+}
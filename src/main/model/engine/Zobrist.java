@@ -0,0 +1,72 @@
+package model.engine;
+
+import model.Colour;
+import model.board.Board;
+import model.board.Square;
+import model.piece.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Contains static methods for hashing board positions into 64-bit keys.
+ */
+public final class Zobrist {
+    private static final List<Class<? extends Piece>> PIECE_TYPES = Arrays.asList(
+            Pawn.class, Knight.class, Bishop.class, Rook.class, Queen.class, King.class);
+    private static final long SEED = 0x43505343L;
+
+    // One key per square and piece variant: type, colour and whether the piece still has its first-move rule.
+    private static final long[][] PIECE_KEYS = new long[Board.SIZE * Board.SIZE][PIECE_TYPES.size() * 4];
+    private static final long BLACK_KEY;
+
+    static {
+        // A fixed seed keeps hashes stable between runs, so they can be stored on disk.
+        Random random = new Random(SEED);
+        for (long[] keys : PIECE_KEYS) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextLong();
+            }
+        }
+        BLACK_KEY = random.nextLong();
+    }
+
+    /**
+     * @EFFECTS: Returns the hash of the given board, including the current player and any castling or en passant
+     * rights.
+     */
+    public static long hash(Board board) {
+        long hash = board.getCurrentPlayer() == Colour.BLACK ? BLACK_KEY : 0L;
+
+        for (int i = 0; i < PIECE_KEYS.length; i++) {
+            Square square = board.getSquare(i % Board.SIZE, i / Board.SIZE);
+            if (square.hasPiece()) {
+                hash ^= PIECE_KEYS[i][getPieceIndex(square.getPiece())];
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * @EFFECTS: Returns the index of the given piece type, from 0 (pawn) to 5 (king).
+     */
+    public static int getTypeIndex(Piece piece) {
+        return PIECE_TYPES.indexOf(piece.getClass());
+    }
+
+    /**
+     * @EFFECTS: Returns the index of the key for the given piece variant.
+     */
+    private static int getPieceIndex(Piece piece) {
+        boolean hasRights = piece instanceof Pawn ? ((Pawn) piece).getEnPassable()
+                : piece instanceof Rook ? !((Rook) piece).getHasMoved()
+                : piece instanceof King && !((King) piece).getHasMoved();
+        return getTypeIndex(piece) * 4 + piece.getColour().ordinal() * 2 + (hasRights ? 1 : 0);
+    }
+
+    /**
+     * @REQUIRES: Instantiation of a utility class is not allowed.
+     */
+    private Zobrist() { /* pass */ }
+}
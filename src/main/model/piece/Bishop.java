@@ -50,6 +50,38 @@ public class Bishop extends Piece {
         return validSquares;
     }
 
+    /**
+     * @EFFECTS: See {@code Piece.getCaptureSquares}.
+     */
+    @Override
+    public Set<Square> getCaptureSquares(Board board, Square start) {
+        Set<Square> captureSquares = new HashSet<>();
+
+        for (Direction direction : MOVE_DIRECTIONS) {
+            // Skip over empty squares until the first occupied square in each direction.
+            for (int x = start.getX() + direction.getX(), y = start.getY() + direction.getY();
+                    !board.isOutOfBounds(x, y); x += direction.getX(), y += direction.getY()) {
+                Square square = board.getSquare(x, y);
+
+                if (square.hasPiece()) {
+                    if (square.getPiece().getColour() != getColour()) {
+                        captureSquares.add(square);
+                    }
+                    break;
+                }
+            }
+        }
+        return captureSquares;
+    }
+
+    /**
+     * @EFFECTS: See {@code Piece.copy}.
+     */
+    @Override
+    public Piece copy() {
+        return new Bishop(getColour());
+    }
+
     @Override
     public String getPrefix() {
         return PREFIX;
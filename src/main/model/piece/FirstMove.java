@@ -4,5 +4,7 @@ package model.piece;
  * Indicates that a piece has a special first-move rule.
  */
 public interface FirstMove {
+    boolean getHasMoved();
+
     void setHasMoved();
 }
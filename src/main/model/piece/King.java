@@ -51,11 +51,49 @@ public class King extends Piece implements FirstMove {
         return validSquares;
     }
 
+    /**
+     * @EFFECTS: See {@code Piece.getCaptureSquares}.
+     */
+    @Override
+    public Set<Square> getCaptureSquares(Board board, Square start) {
+        Set<Square> captureSquares = new HashSet<>();
+
+        for (Direction direction : Direction.values()) {
+            int x = start.getX() + direction.getX();
+            int y = start.getY() + direction.getY();
+
+            if (!board.isOutOfBounds(x, y)) {
+                Square square = board.getSquare(x, y);
+
+                // Check if the square is occupied by a piece of the opposite colour.
+                if (square.hasPiece() && square.getPiece().getColour() != getColour()) {
+                    captureSquares.add(square);
+                }
+            }
+        }
+        return captureSquares;
+    }
+
+    /**
+     * @EFFECTS: See {@code Piece.copy}.
+     */
+    @Override
+    public Piece copy() {
+        King piece = new King(getColour());
+        piece.hasMoved = hasMoved;
+        return piece;
+    }
+
     @Override
     public String getPrefix() {
         return PREFIX;
     }
 
+    @Override
+    public boolean getHasMoved() {
+        return hasMoved;
+    }
+
     @Override
     public void setHasMoved() {
         hasMoved = true;
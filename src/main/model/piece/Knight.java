@@ -46,6 +46,37 @@ public class Knight extends Piece {
         return validSquares;
     }
 
+    /**
+     * @EFFECTS: See {@code Piece.getCaptureSquares}.
+     */
+    @Override
+    public Set<Square> getCaptureSquares(Board board, Square start) {
+        Set<Square> captureSquares = new HashSet<>();
+
+        for (int i = 0; i < MOVE_OFFSETS_X.length; i++) {
+            int x = start.getX() + MOVE_OFFSETS_X[i];
+            int y = start.getY() + MOVE_OFFSETS_Y[i];
+
+            if (!board.isOutOfBounds(x, y)) {
+                Square square = board.getSquare(x, y);
+
+                // Check if the square is occupied by a piece of the opposite colour.
+                if (square.hasPiece() && square.getPiece().getColour() != getColour()) {
+                    captureSquares.add(square);
+                }
+            }
+        }
+        return captureSquares;
+    }
+
+    /**
+     * @EFFECTS: See {@code Piece.copy}.
+     */
+    @Override
+    public Piece copy() {
+        return new Knight(getColour());
+    }
+
     @Override
     public String getPrefix() {
         return PREFIX;
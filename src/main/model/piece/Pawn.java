@@ -54,11 +54,37 @@ public class Pawn extends Piece implements FirstMove {
         return validSquares;
     }
 
+    /**
+     * @EFFECTS: See {@code Piece.getCaptureSquares}.
+     */
+    @Override
+    public Set<Square> getCaptureSquares(Board board, Square start) {
+        Set<Square> captureSquares = new HashSet<>();
+        addCaptureSquares(captureSquares, board, start);
+        return captureSquares;
+    }
+
+    /**
+     * @EFFECTS: See {@code Piece.copy}.
+     */
+    @Override
+    public Piece copy() {
+        Pawn piece = new Pawn(getColour());
+        piece.hasMoved = hasMoved;
+        piece.holyHell = holyHell;
+        return piece;
+    }
+
     @Override
     public String getPrefix() {
         return PREFIX;
     }
 
+    @Override
+    public boolean getHasMoved() {
+        return hasMoved;
+    }
+
     @Override
     public void setHasMoved() {
         hasMoved = true;
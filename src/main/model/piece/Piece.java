@@ -28,5 +28,16 @@ public abstract class Piece {
      */
     public abstract Set<Square> getValidSquares(Board board, Square start);
 
+    /**
+     * @EFFECTS: Returns the subset of {@code getValidSquares} that captures a piece of the opposite colour, without
+     * generating any quiet moves.
+     */
+    public abstract Set<Square> getCaptureSquares(Board board, Square start);
+
+    /**
+     * @EFFECTS: Returns a new piece with the same colour and move-related state as this one.
+     */
+    public abstract Piece copy();
+
     public abstract String getPrefix();
 }
@@ -0,0 +1,395 @@
+package persistence;
+
+import model.Colour;
+import model.Move;
+import model.board.Board;
+import model.board.Square;
+import model.engine.Zobrist;
+import model.piece.*;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Contains static methods for reading and writing the compact binary save format. A file starts with a magic number
+ * and version, followed by an optional metadata block and 2 bytes per move. An optional checkpoint block may follow
+ * the moves, holding the full position every few plies so that any ply can be reached without replaying the game.
+ */
+public final class BinaryUtils {
+    public static final int VERSION = 1;
+    private static final byte[] MAGIC = {'C', 'P', 'S', 'C'};
+    private static final int HAS_METADATA = 0x1;
+    private static final int HAS_CHECKPOINTS = 0x2;
+    static final int HEADER_SIZE = MAGIC.length + 2;
+
+    // Each move is packed as 6 bits per square index and 4 bits of flags.
+    private static final int SQUARE_BITS = 6;
+    private static final int SQUARE_MASK = (1 << SQUARE_BITS) - 1;
+    private static final int FLAG_MASK = 0xF;
+
+    // Each checkpoint square is packed as 3 bits of piece type (0 if empty), then colour, has-moved and en passant.
+    private static final int TYPE_MASK = 0x7;
+    private static final int BLACK = 0x8;
+    private static final int HAS_MOVED = 0x10;
+    private static final int EN_PASSABLE = 0x20;
+
+    // The metadata count and the length of each string are stored as unsigned shorts.
+    private static final int MAX_METADATA_LENGTH = 0xFFFF;
+
+    /**
+     * @EFFECTS: Saves a list of moves to the binary file at the given path.
+     * @MODIFIES: ./data/{@code fileName}.cpsc
+     */
+    public static void save(String fileName, List<Move> moves) throws IOException {
+        save(fileName, moves, Collections.emptyMap());
+    }
+
+    /**
+     * @EFFECTS: Saves a list of moves and the given metadata to the binary file at the given path.
+     * @MODIFIES: ./data/{@code fileName}.cpsc
+     */
+    public static void save(String fileName, List<Move> moves, Map<String, String> metadata) throws IOException {
+        save(fileName, moves, metadata, 0);
+    }
+
+    /**
+     * @EFFECTS: Saves a list of moves and the given metadata to the binary file at the given path, with a checkpoint
+     * every {@code interval} plies if {@code interval > 0}.
+     * @MODIFIES: ./data/{@code fileName}.cpsc
+     */
+    public static void save(String fileName, List<Move> moves, Map<String, String> metadata, int interval)
+            throws IOException {
+        Files.write(Paths.get(JsonUtils.PATH + fileName + JsonUtils.EXT), toBytes(moves, metadata, interval));
+    }
+
+    /**
+     * @EFFECTS: Returns {@code true} if the given file contents start with the binary magic number.
+     */
+    public static boolean isBinary(byte[] bytes) {
+        return bytes.length >= MAGIC.length && Arrays.equals(Arrays.copyOf(bytes, MAGIC.length), MAGIC);
+    }
+
+    /**
+     * @EFFECTS: Converts the given binary file contents into a list of moves.
+     * @REQUIRES: {@code isBinary(bytes)}
+     */
+    public static List<Move> fromBytes(byte[] bytes, Board board) {
+        ByteBuffer buffer = readHeader(bytes);
+        if ((buffer.get() & HAS_METADATA) != 0) {
+            int length = buffer.getInt();
+            buffer.position(buffer.position() + length);
+        }
+
+        int count = buffer.getInt();
+        List<Move> moves = new ArrayList<>(count);
+        int[] data = new int[4];
+        for (int i = 0; i < count; i++) {
+            decode(buffer.getShort() & 0xFFFF, data);
+            moves.add(new Move(board.getSquare(data[0], data[1]), board.getSquare(data[2], data[3])));
+        }
+        return moves;
+    }
+
+    /**
+     * @EFFECTS: Returns the metadata stored in the given binary file contents, which may be empty.
+     * @REQUIRES: {@code isBinary(bytes)}
+     */
+    public static Map<String, String> getMetadata(byte[] bytes) {
+        ByteBuffer buffer = readHeader(bytes);
+        Map<String, String> metadata = new LinkedHashMap<>();
+
+        if ((buffer.get() & HAS_METADATA) != 0) {
+            buffer.getInt();
+            for (int count = buffer.getShort() & 0xFFFF; count > 0; count--) {
+                metadata.put(getString(buffer), getString(buffer));
+            }
+        }
+        return metadata;
+    }
+
+    /**
+     * @EFFECTS: Converts the given list of moves and metadata into binary file contents.
+     * @REQUIRES: after {@code Board.doMove} for every move, so that their flags are set
+     * @throws IllegalArgumentException if the metadata does not fit, as with the checkpointed {@code toBytes}
+     */
+    public static byte[] toBytes(List<Move> moves, Map<String, String> metadata) {
+        return toBytes(moves, metadata, 0);
+    }
+
+    /**
+     * @EFFECTS: Converts the given list of moves and metadata into binary file contents, with a checkpoint every
+     * {@code interval} plies if {@code interval > 0}.
+     * @REQUIRES: after {@code Board.doMove} for every move, so that their flags and moved pieces are set
+     * @throws IllegalArgumentException if there are more than 65535 metadata entries, or a key or value is longer
+     * than 65535 bytes in UTF-8
+     */
+    public static byte[] toBytes(List<Move> moves, Map<String, String> metadata, int interval) {
+        byte[] metadataBytes = getMetadataBytes(metadata);
+        byte[] checkpointBytes = interval > 0 ? getCheckpointBytes(moves, interval) : new byte[0];
+        ByteBuffer buffer = ByteBuffer.allocate(MAGIC.length + 2 + (metadata.isEmpty() ? 0 : 4 + metadataBytes.length)
+                + 4 + 2 * moves.size() + checkpointBytes.length);
+
+        buffer.put(MAGIC).put((byte) VERSION)
+                .put((byte) ((metadata.isEmpty() ? 0 : HAS_METADATA) | (interval > 0 ? HAS_CHECKPOINTS : 0)));
+        if (!metadata.isEmpty()) {
+            buffer.putInt(metadataBytes.length).put(metadataBytes);
+        }
+
+        buffer.putInt(moves.size());
+        for (Move move : moves) {
+            buffer.putShort((short) encode(move));
+        }
+        return buffer.put(checkpointBytes).array();
+    }
+
+    /**
+     * @EFFECTS: Returns a board at the given ply (the number of moves played) of the game in the given binary file
+     * contents. The position is restored from the nearest checkpoint at or before the ply, if any, and only the
+     * remaining moves are replayed. Moves before the checkpoint are in the history, but refer to squares of another
+     * board.
+     * @REQUIRES: {@code isBinary(bytes)}, and {@code ply} is at most the number of moves
+     */
+    public static Board seek(byte[] bytes, int ply) {
+        ByteBuffer buffer = readHeader(bytes);
+        int flags = buffer.get();
+        if ((flags & HAS_METADATA) != 0) {
+            int length = buffer.getInt();
+            buffer.position(buffer.position() + length);
+        }
+
+        int count = buffer.getInt();
+        ByteBuffer moves = buffer.slice();
+        Board board = new Board();
+        int start = 0;
+        if ((flags & HAS_CHECKPOINTS) != 0) {
+            int interval = buffer.getInt(buffer.position() + 2 * count);
+            start = ply / interval * interval;
+            board = start == 0 ? board : restoreCheckpoint(moves, count, interval, start);
+        }
+
+        int[] data = new int[4];
+        for (int i = start; i < ply; i++) {
+            decode(moves.getShort(2 * i) & 0xFFFF, data);
+            board.doMove(new Move(board.getSquare(data[0], data[1]), board.getSquare(data[2], data[3])));
+        }
+        return board;
+    }
+
+    /**
+     * @EFFECTS: Checks the given header, skips the metadata block that follows it in the given input, and returns the
+     * number of moves.
+     * @MODIFIES: {@code input}
+     * @REQUIRES: {@code isBinary(header)} and {@code header.length == HEADER_SIZE}
+     */
+    static int readMoveCount(byte[] header, DataInput input) throws IOException {
+        ByteBuffer buffer = readHeader(header);
+        if ((buffer.get() & HAS_METADATA) != 0) {
+            input.skipBytes(input.readInt());
+        }
+        return input.readInt();
+    }
+
+    /**
+     * @EFFECTS: Packs the given move into 2 bytes.
+     * @REQUIRES: after {@code Board.doMove(move)}, so that its flags are set
+     */
+    static int encode(Move move) {
+        return getIndex(move.getStart().getX(), move.getStart().getY()) << (SQUARE_BITS + 4)
+                | getIndex(move.getEnd().getX(), move.getEnd().getY()) << 4 | getFlags(move);
+    }
+
+    /**
+     * @EFFECTS: Unpacks the given 2-byte move into start x, start y, end x and end y in the given array.
+     * @MODIFIES: {@code move}
+     */
+    static void decode(int data, int[] move) {
+        int start = data >>> (SQUARE_BITS + 4);
+        int end = (data >>> 4) & SQUARE_MASK;
+        move[0] = start % Board.SIZE;
+        move[1] = start / Board.SIZE;
+        move[2] = end % Board.SIZE;
+        move[3] = end / Board.SIZE;
+    }
+
+    /**
+     * @EFFECTS: Checks the magic number and version, and returns a buffer positioned after them.
+     */
+    private static ByteBuffer readHeader(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.position(MAGIC.length);
+
+        int version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported version: " + version);
+        }
+        return buffer;
+    }
+
+    /**
+     * @EFFECTS: Converts the given moves into a checkpoint block: the interval, the type of each moved piece packed
+     * 2 per byte, and the position after every {@code interval} plies.
+     * @REQUIRES: {@code interval > 0}, and after {@code Board.doMove} for every move
+     */
+    private static byte[] getCheckpointBytes(List<Move> moves, int interval) {
+        byte[] types = new byte[(moves.size() + 1) / 2];
+        ByteBuffer buffer = ByteBuffer.allocate(4 + types.length + moves.size() / interval * Board.SIZE * Board.SIZE);
+        buffer.putInt(interval).position(4 + types.length);
+
+        Board board = new Board();
+        int ply = 0;
+        for (Move move : moves) {
+            types[ply / 2] |= (Zobrist.getTypeIndex(move.getMovedPiece()) + 1) << (ply % 2 * 4);
+            board.doMove(new Move(board.getSquare(move.getStart().getX(), move.getStart().getY()),
+                    board.getSquare(move.getEnd().getX(), move.getEnd().getY())));
+
+            if (++ply % interval == 0) {
+                for (int i = 0; i < Board.SIZE * Board.SIZE; i++) {
+                    buffer.put((byte) getPieceCode(board.getSquare(i % Board.SIZE, i / Board.SIZE).getPiece()));
+                }
+            }
+        }
+        buffer.position(4);
+        return buffer.put(types).array();
+    }
+
+    /**
+     * @EFFECTS: Returns a board restored from the checkpoint at the given ply, with the moves before it in its history.
+     * @REQUIRES: {@code moves} starts at the first move of a file with a checkpoint block, and {@code ply} is a
+     * positive multiple of {@code interval} that is at most {@code count}
+     */
+    private static Board restoreCheckpoint(ByteBuffer moves, int count, int interval, int ply) {
+        int typeStart = 2 * count + 4;
+        int checkpointStart = typeStart + (count + 1) / 2 + (ply / interval - 1) * Board.SIZE * Board.SIZE;
+
+        Piece[] pieces = new Piece[Board.SIZE * Board.SIZE];
+        Square[] squares = new Square[pieces.length];
+        for (int i = 0; i < pieces.length; i++) {
+            pieces[i] = createPiece(moves.get(checkpointStart + i));
+            squares[i] = new Square(i % Board.SIZE, i / Board.SIZE);
+        }
+
+        List<Move> history = new ArrayList<>(ply);
+        for (int i = 0; i < ply; i++) {
+            int data = moves.getShort(2 * i) & 0xFFFF;
+            Move move = new Move(squares[data >>> (SQUARE_BITS + 4)], squares[(data >>> 4) & SQUARE_MASK]);
+            move.setFlag(data & FLAG_MASK);
+            move.setMovedPiece(createPiece((moves.get(typeStart + i / 2) >>> (i % 2 * 4)) & TYPE_MASK
+                    | (i % 2 == 0 ? 0 : BLACK)));
+            history.add(move);
+        }
+        return new Board(pieces, history);
+    }
+
+    /**
+     * @EFFECTS: Returns the given piece packed into a checkpoint byte, or 0 if {@code null}.
+     */
+    private static int getPieceCode(Piece piece) {
+        if (piece == null) {
+            return 0;
+        }
+
+        return (Zobrist.getTypeIndex(piece) + 1) | (piece.getColour() == Colour.BLACK ? BLACK : 0)
+                | (piece instanceof FirstMove && ((FirstMove) piece).getHasMoved() ? HAS_MOVED : 0)
+                | (piece instanceof Pawn && ((Pawn) piece).getEnPassable() ? EN_PASSABLE : 0);
+    }
+
+    /**
+     * @EFFECTS: Returns a new piece unpacked from the given checkpoint byte, or {@code null} if it is empty.
+     */
+    private static Piece createPiece(int code) {
+        Colour colour = (code & BLACK) != 0 ? Colour.BLACK : Colour.WHITE;
+        switch (code & TYPE_MASK) {
+            case 1:
+                Pawn pawn = new Pawn(colour);
+                pawn.setEnPassable((code & EN_PASSABLE) != 0);
+                return setHasMoved(pawn, code);
+            case 2:
+                return new Knight(colour);
+            case 3:
+                return new Bishop(colour);
+            case 4:
+                return setHasMoved(new Rook(colour), code);
+            case 5:
+                return new Queen(colour);
+            case 6:
+                return setHasMoved(new King(colour), code);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @EFFECTS: Marks the given piece as moved if the given checkpoint byte says so, and returns it.
+     * @MODIFIES: {@code piece}
+     */
+    private static <T extends Piece & FirstMove> T setHasMoved(T piece, int code) {
+        if ((code & HAS_MOVED) != 0) {
+            piece.setHasMoved();
+        }
+        return piece;
+    }
+
+    /**
+     * @EFFECTS: Converts the given metadata into a count followed by length-prefixed UTF-8 keys and values.
+     * @throws IllegalArgumentException if the count or the length of a key or value does not fit in its prefix
+     */
+    private static byte[] getMetadataBytes(Map<String, String> metadata) {
+        if (metadata.size() > MAX_METADATA_LENGTH) {
+            throw new IllegalArgumentException("Too many metadata entries: " + metadata.size());
+        }
+
+        List<byte[]> strings = new ArrayList<>();
+        int length = 2;
+        for (Map.Entry<String, String> entry : metadata.entrySet()) {
+            for (String string : new String[]{entry.getKey(), entry.getValue()}) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > MAX_METADATA_LENGTH) {
+                    throw new IllegalArgumentException("Metadata string too long: " + bytes.length + " bytes");
+                }
+                strings.add(bytes);
+                length += 2 + bytes.length;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length).putShort((short) metadata.size());
+        for (byte[] string : strings) {
+            buffer.putShort((short) string.length).put(string);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @EFFECTS: Reads a length-prefixed UTF-8 string from the given buffer.
+     * @MODIFIES: {@code buffer}
+     */
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @EFFECTS: Returns the index of the square at the given position.
+     */
+    private static int getIndex(int x, int y) {
+        return y * Board.SIZE + x;
+    }
+
+    /**
+     * @EFFECTS: Returns the flags of the given move packed into 4 bits.
+     */
+    private static int getFlags(Move move) {
+        return (move.getFlag(Move.CAPTURE) ? Move.CAPTURE : 0) | (move.getFlag(Move.CASTLE) ? Move.CASTLE : 0)
+                | (move.getFlag(Move.PROMOTE) ? Move.PROMOTE : 0);
+    }
+
+    /**
+     * @REQUIRES: Instantiation of a utility class is not allowed.
+     */
+    private BinaryUtils() { /* pass */ }
+}
@@ -0,0 +1,111 @@
+package persistence;
+
+import model.Move;
+import model.board.Board;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Contains static methods for comparing the size and speed of the ways a game can be stored: the JSON of
+ * {@code JsonUtils.toJson}, the binary format, and the move-index codec with and without Deflate.
+ */
+public final class CodecBenchmark {
+    /**
+     * @EFFECTS: Returns every saved game in ./data that can be replayed.
+     */
+    public static List<Board> loadGames() throws IOException {
+        List<Board> games = new ArrayList<>();
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(Paths.get(JsonUtils.PATH), "*" + JsonUtils.EXT)) {
+            for (Path path : paths) {
+                String fileName = path.getFileName().toString();
+                Board board = new Board();
+                try {
+                    JsonUtils.replay(fileName.substring(0, fileName.length() - JsonUtils.EXT.length()), board);
+                } catch (IOException | RuntimeException e) {
+                    continue;
+                }
+                games.add(board);
+            }
+        }
+        return games;
+    }
+
+    /**
+     * @EFFECTS: Encodes and decodes the given games the given number of times with each format, and returns a report
+     * of bytes per game and encode/decode throughput in moves per second. Decoding includes replaying the moves.
+     * @REQUIRES: {@code rounds > 0}
+     */
+    public static String run(List<Board> games, int rounds) {
+        Function<byte[], Board> jsonDecoder = bytes -> replay(board -> JsonUtils.fromJson(
+                new JSONObject(new String(bytes, StandardCharsets.UTF_8)), board));
+        Function<byte[], Board> binaryDecoder = bytes -> replay(board -> BinaryUtils.fromBytes(bytes, board));
+
+        return String.join("\n",
+                measure("json", games, rounds, moves -> JsonUtils.toJson(moves).toString()
+                        .getBytes(StandardCharsets.UTF_8), jsonDecoder),
+                measure("binary", games, rounds, moves -> BinaryUtils.toBytes(moves, Collections.emptyMap()),
+                        binaryDecoder),
+                measure("index", games, rounds, moves -> MoveCodec.encode(moves, false), MoveCodec::decode),
+                measure("index+deflate", games, rounds, moves -> MoveCodec.encode(moves, true), MoveCodec::decode));
+    }
+
+    /**
+     * @EFFECTS: Returns a report line for one format, timing each direction over every game for the given number of
+     * rounds.
+     */
+    private static String measure(String name, List<Board> games, int rounds, Function<List<Move>, byte[]> encoder,
+                                  Function<byte[], Board> decoder) {
+        List<byte[]> encoded = new ArrayList<>();
+        long moveCount = 0;
+        long byteCount = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            encoded.clear();
+            for (Board game : games) {
+                encoded.add(encoder.apply(game.getHistory()));
+            }
+        }
+        long encodeTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            for (byte[] bytes : encoded) {
+                moveCount += decoder.apply(bytes).getHistory().size();
+            }
+        }
+        long decodeTime = System.nanoTime() - start;
+
+        for (byte[] bytes : encoded) {
+            byteCount += bytes.length;
+        }
+        return String.format(Locale.ROOT, "%-14s %8.1f bytes/game %12.0f moves/s encode %12.0f moves/s decode",
+                name, (double) byteCount / Math.max(1, games.size()), moveCount * 1e9 / Math.max(1, encodeTime),
+                moveCount * 1e9 / Math.max(1, decodeTime));
+    }
+
+    /**
+     * @EFFECTS: Returns a new board with the moves that the given loader reads against it applied to it.
+     */
+    private static Board replay(Function<Board, List<Move>> loader) {
+        Board board = new Board();
+        loader.apply(board).forEach(board::doMove);
+        return board;
+    }
+
+    /**
+     * @REQUIRES: Instantiation of a utility class is not allowed.
+     */
+    private CodecBenchmark() { /* pass */ }
+}
@@ -0,0 +1,239 @@
+package persistence;
+
+import model.Colour;
+import model.Move;
+import model.board.Board;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Represents an append-only archive that packs many games into one data file in the binary save format, with a
+ * separate index file of fixed-size entries (offset, length, ply count and result). Both files are read through
+ * memory maps, so reading any game by its id takes constant time. The data file is mapped in chunks of at most 1 GB,
+ * so it can grow past the 2 GB limit of a single map, while the index is limited to about 100 million games.
+ */
+public class GameArchive implements Closeable {
+    public static final String EXT = ".cpsa";
+    public static final String INDEX_EXT = ".cpsi";
+    public static final int UNFINISHED = 0;
+    public static final int WHITE_WINS = 1;
+    public static final int BLACK_WINS = 2;
+
+    // Each index entry holds an 8-byte offset, then a 4-byte length, ply count and result.
+    private static final int ENTRY_SIZE = 20;
+    private static final int CHUNK_SIZE = 1 << 30;
+    // Exported games get a checkpoint every this many plies, so that any ply can be found without a full replay.
+    private static final int CHECKPOINT_INTERVAL = 64;
+
+    private final FileChannel dataChannel;
+    private final FileChannel indexChannel;
+    private final int chunkSize;
+    private final List<MappedByteBuffer> dataChunks;
+    private MappedByteBuffer indexMap;
+    private long dataSize;
+    private int size;
+
+    /**
+     * @EFFECTS: Opens the archive with the given name, creating it if it does not exist.
+     */
+    public GameArchive(String name) throws IOException {
+        this(name, CHUNK_SIZE);
+    }
+
+    /**
+     * @EFFECTS: Opens the archive with the given name like the public constructor, mapping the data file in chunks of
+     * the given size.
+     * @REQUIRES: {@code chunkSize > 0}
+     */
+    GameArchive(String name, int chunkSize) throws IOException {
+        this.chunkSize = chunkSize;
+        this.dataChannel = FileChannel.open(Paths.get(JsonUtils.PATH + name + EXT), CREATE, READ, WRITE);
+        this.indexChannel = FileChannel.open(Paths.get(JsonUtils.PATH + name + INDEX_EXT), CREATE, READ, WRITE);
+
+        // Ignore a partially written entry left behind by a crash.
+        this.dataSize = dataChannel.size();
+        this.size = (int) (indexChannel.size() / ENTRY_SIZE);
+        this.dataChunks = new ArrayList<>();
+        this.indexMap = null;
+    }
+
+    /**
+     * @EFFECTS: Appends the game on the given board to the archive, and returns its id.
+     * @MODIFIES: {@code this}
+     */
+    public synchronized int append(Board board) throws IOException {
+        byte[] record = BinaryUtils.toBytes(board.getHistory(), Collections.emptyMap());
+        long offset = dataSize;
+        dataChannel.write(ByteBuffer.wrap(record), offset);
+        dataSize += record.length;
+
+        // The entry is written after the record is on disk, so the index never points past the end of the data.
+        dataChannel.force(false);
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE).putLong(offset).putInt(record.length)
+                .putInt(board.getHistory().size()).putInt(getResult(board));
+        indexChannel.write(entry.flip(), (long) size * ENTRY_SIZE);
+        size++;
+        return size - 1;
+    }
+
+    /**
+     * @EFFECTS: Returns a new board with the moves of the game with the given id applied to it.
+     * @REQUIRES: {@code 0 <= id < size()}
+     */
+    public synchronized Board load(int id) {
+        Board board = new Board();
+        for (Move move : BinaryUtils.fromBytes(getRecord(id), board)) {
+            board.doMove(move);
+        }
+        return board;
+    }
+
+    /**
+     * @EFFECTS: Returns the binary save file contents of the game with the given id.
+     * @REQUIRES: {@code 0 <= id < size()}
+     */
+    public synchronized byte[] getRecord(int id) {
+        long offset = getEntry(id).getLong(id * ENTRY_SIZE);
+        byte[] record = new byte[indexMap.getInt(id * ENTRY_SIZE + 8)];
+
+        // A record may span the boundary between two chunks.
+        int copied = 0;
+        while (copied < record.length) {
+            long position = offset + copied;
+            int start = (int) (position % chunkSize);
+            int length = Math.min(record.length - copied, chunkSize - start);
+            ByteBuffer chunk = getDataChunk((int) (position / chunkSize), start + length).duplicate();
+            chunk.position(start);
+            chunk.get(record, copied, length);
+            copied += length;
+        }
+        return record;
+    }
+
+    /**
+     * @EFFECTS: Returns the number of moves in the game with the given id.
+     * @REQUIRES: {@code 0 <= id < size()}
+     */
+    public synchronized int getPlyCount(int id) {
+        return getEntry(id).getInt(id * ENTRY_SIZE + 12);
+    }
+
+    /**
+     * @EFFECTS: Returns the result of the game with the given id, one of {@code UNFINISHED}, {@code WHITE_WINS} or
+     * {@code BLACK_WINS}.
+     * @REQUIRES: {@code 0 <= id < size()}
+     */
+    public synchronized int getResult(int id) {
+        return getEntry(id).getInt(id * ENTRY_SIZE + 16);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @EFFECTS: Appends every save file in the data directory to the archive, and returns the number of games added.
+     * Files that cannot be read are skipped.
+     * @MODIFIES: {@code this}
+     */
+    public int importFiles() throws IOException {
+        int count = 0;
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(Paths.get(JsonUtils.PATH), "*" + JsonUtils.EXT)) {
+            for (Path path : paths) {
+                String fileName = path.getFileName().toString();
+                Board board = new Board();
+                try {
+                    JsonUtils.replay(fileName.substring(0, fileName.length() - JsonUtils.EXT.length()), board);
+                } catch (IOException | RuntimeException e) {
+                    continue;
+                }
+                append(board);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @EFFECTS: Saves the game with the given id to the binary file at the given path, with checkpoints.
+     * @MODIFIES: ./data/{@code fileName}.cpsc
+     * @REQUIRES: {@code 0 <= id < size()}
+     */
+    public void export(int id, String fileName) throws IOException {
+        List<Move> moves = load(id).getHistory();
+        BinaryUtils.save(fileName, moves, Collections.emptyMap(), CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * @EFFECTS: See {@code Closeable.close}.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        dataChannel.close();
+        indexChannel.close();
+    }
+
+    /**
+     * @EFFECTS: Returns the result of the game on the given board.
+     */
+    public static int getResult(Board board) {
+        if (!board.isGameOver()) {
+            return UNFINISHED;
+        }
+        Colour winner = board.getHistory().get(board.getHistory().size() - 1).getMovedPiece().getColour();
+        return winner == Colour.WHITE ? WHITE_WINS : BLACK_WINS;
+    }
+
+    /**
+     * @EFFECTS: Returns the index map, first remapping it if the entry with the given id was appended after it was
+     * last mapped.
+     * @MODIFIES: {@code this}
+     */
+    private MappedByteBuffer getEntry(int id) {
+        if (indexMap == null || indexMap.limit() < (id + 1) * ENTRY_SIZE) {
+            indexMap = map(indexChannel, 0, (long) size * ENTRY_SIZE);
+        }
+        return indexMap;
+    }
+
+    /**
+     * @EFFECTS: Returns the map of the data chunk with the given index, first remapping it if it is shorter than the
+     * given length because data was appended to it after it was last mapped.
+     * @MODIFIES: {@code this}
+     */
+    private MappedByteBuffer getDataChunk(int index, int length) {
+        while (dataChunks.size() <= index) {
+            dataChunks.add(null);
+        }
+        if (dataChunks.get(index) == null || dataChunks.get(index).limit() < length) {
+            long start = (long) index * chunkSize;
+            dataChunks.set(index, map(dataChannel, start, Math.min(dataSize - start, chunkSize)));
+        }
+        return dataChunks.get(index);
+    }
+
+    /**
+     * @EFFECTS: Maps {@code length} bytes of the given file from the given position into memory.
+     */
+    private static MappedByteBuffer map(FileChannel channel, long position, long length) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
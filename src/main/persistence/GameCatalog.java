@@ -0,0 +1,200 @@
+package persistence;
+
+import model.board.Board;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents a cache of metadata about the saved games in ./data/, persisted in a sidecar index so that listing
+ * thousands of games only needs to check their modification times and sizes. Metadata is computed in parallel, and
+ * only for games that are new or have changed since they were last scanned.
+ */
+public class GameCatalog {
+    public static final String EXT = ".cpsm";
+    public static final int UNREADABLE = -1;
+    private static final int VERSION = 2;
+    private static final int FIRST_MOVE_COUNT = 6;
+
+    private final Path path;
+    private final Map<String, Entry> entries;
+    private boolean isLoaded;
+
+    /**
+     * @EFFECTS: Constructs a catalog with the given name, whose index is only read on the first scan.
+     */
+    public GameCatalog(String name) {
+        this.path = Paths.get(JsonUtils.PATH + name + EXT);
+        this.entries = new ConcurrentHashMap<>();
+        this.isLoaded = false;
+    }
+
+    /**
+     * @EFFECTS: Returns the metadata of every saved game sorted by file name, computing it for new or modified games
+     * in parallel, and saves the index if anything changed.
+     * @MODIFIES: {@code this}, ./data/{@code name}.cpsm
+     */
+    public synchronized List<Entry> scan() throws IOException {
+        if (!isLoaded) {
+            load();
+        }
+
+        Map<String, BasicFileAttributes> attributes = getAttributes();
+        boolean isChanged = entries.keySet().retainAll(attributes.keySet());
+        List<String> staleNames = new ArrayList<>();
+        attributes.forEach((fileName, attribute) -> {
+            // The modification time alone can miss a rewrite within its resolution, or one that keeps the old time.
+            Entry entry = entries.get(fileName);
+            if (entry == null || entry.getLastModified() != attribute.lastModifiedTime().toMillis()
+                    || entry.getSize() != attribute.size()) {
+                staleNames.add(fileName);
+            }
+        });
+        staleNames.parallelStream().forEach(fileName -> entries.put(fileName, read(fileName,
+                attributes.get(fileName))));
+
+        if (isChanged || !staleNames.isEmpty()) {
+            save();
+        }
+        List<Entry> list = new ArrayList<>(entries.values());
+        list.sort(Comparator.comparing(Entry::getFileName));
+        return list;
+    }
+
+    /**
+     * @EFFECTS: Returns the file attributes (including the last modified time and size) of every saved game by name.
+     */
+    private static Map<String, BasicFileAttributes> getAttributes() throws IOException {
+        Map<String, BasicFileAttributes> attributes = new HashMap<>();
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(Paths.get(JsonUtils.PATH), "*" + JsonUtils.EXT)) {
+            for (Path file : paths) {
+                String fileName = file.getFileName().toString();
+                attributes.put(fileName.substring(0, fileName.length() - JsonUtils.EXT.length()),
+                        Files.readAttributes(file, BasicFileAttributes.class));
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * @EFFECTS: Loads the entries of the index, if it exists and is readable.
+     * @MODIFIES: {@code this}
+     */
+    private void load() {
+        isLoaded = true;
+        try (DataInputStream stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (stream.readInt() == VERSION) {
+                for (int count = stream.readInt(); count > 0; count--) {
+                    Entry entry = new Entry(stream.readUTF(), stream.readLong(), stream.readLong(), stream.readInt(),
+                            stream.readInt(), stream.readUTF());
+                    entries.put(entry.getFileName(), entry);
+                }
+            }
+        } catch (IOException e) {
+            entries.clear(); // Missing or damaged, so everything gets scanned again.
+        }
+    }
+
+    /**
+     * @EFFECTS: Replays the saved game with the given name and file attributes, and returns its metadata.
+     */
+    private static Entry read(String fileName, BasicFileAttributes attributes) {
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        Board board = new Board();
+        try {
+            JsonUtils.replay(fileName, board);
+        } catch (IOException | RuntimeException e) {
+            return new Entry(fileName, lastModified, attributes.size(), UNREADABLE, GameArchive.UNFINISHED, "");
+        }
+
+        StringBuilder firstMoves = new StringBuilder();
+        try {
+            NotationCodec.write(firstMoves, board.getHistory().subList(0,
+                    Math.min(FIRST_MOVE_COUNT, board.getHistory().size())));
+        } catch (IOException | RuntimeException e) {
+            firstMoves.setLength(0); // Moves that were never checked can be impossible to write.
+        }
+        return new Entry(fileName, lastModified, attributes.size(), board.getHistory().size(),
+                GameArchive.getResult(board), firstMoves.toString().trim());
+    }
+
+    /**
+     * @EFFECTS: Writes the index to a temporary file and renames it over the old one.
+     * @MODIFIES: ./data/{@code name}.cpsm
+     */
+    private void save() throws IOException {
+        Path temporaryPath = Paths.get(path + ".tmp");
+        try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(temporaryPath)))) {
+            stream.writeInt(VERSION);
+            stream.writeInt(entries.size());
+            for (Entry entry : entries.values()) {
+                stream.writeUTF(entry.getFileName());
+                stream.writeLong(entry.getLastModified());
+                stream.writeLong(entry.getSize());
+                stream.writeInt(entry.getPlyCount());
+                stream.writeInt(entry.getResult());
+                stream.writeUTF(entry.getFirstMoves());
+            }
+        }
+        Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Represents the cached metadata of one saved game.
+     */
+    public static final class Entry {
+        private final String fileName;
+        private final long lastModified;
+        private final long size;
+        private final int plyCount;
+        private final int result;
+        private final String firstMoves;
+
+        /**
+         * @EFFECTS: Constructs a new entry with the given params.
+         */
+        public Entry(String fileName, long lastModified, long size, int plyCount, int result, String firstMoves) {
+            this.fileName = fileName;
+            this.lastModified = lastModified;
+            this.size = size;
+            this.plyCount = plyCount;
+            this.result = result;
+            this.firstMoves = firstMoves;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * @EFFECTS: Returns the number of moves, or {@code UNREADABLE} if the game could not be loaded.
+         */
+        public int getPlyCount() {
+            return plyCount;
+        }
+
+        /**
+         * @EFFECTS: Returns the result, one of {@code GameArchive.UNFINISHED}, {@code GameArchive.WHITE_WINS} or
+         * {@code GameArchive.BLACK_WINS}.
+         */
+        public int getResult() {
+            return result;
+        }
+
+        public String getFirstMoves() {
+            return firstMoves;
+        }
+    }
+}
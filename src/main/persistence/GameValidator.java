@@ -0,0 +1,81 @@
+package persistence;
+
+import model.Move;
+import model.board.Board;
+import model.board.Square;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Contains static methods for checking that saved games only contain legal moves, since loading a game applies its
+ * moves without checking them.
+ */
+public final class GameValidator {
+    public static final int VALID = -1;
+    public static final int UNREADABLE = -2;
+
+    /**
+     * @EFFECTS: Replays the save file at the given path on its own board, checking every move, and returns the ply
+     * (the number of moves played before it) of the first illegal move, {@code VALID} if every move is legal, or
+     * {@code UNREADABLE} if the file could not be read.
+     */
+    public static int validate(Path path) {
+        try (MoveReader reader = new MoveReader(path)) {
+            Board board = new Board();
+            int[] data = new int[4];
+            for (int ply = 0; reader.next(data); ply++) {
+                if (!isLegal(board, data)) {
+                    return ply;
+                }
+                board.doMove(new Move(board.getSquare(data[0], data[1]), board.getSquare(data[2], data[3])));
+            }
+            return VALID;
+        } catch (IOException | RuntimeException e) {
+            return UNREADABLE;
+        }
+    }
+
+    /**
+     * @EFFECTS: Validates every save file in the given directory tree in parallel, and returns the result of
+     * {@code validate} for each file, sorted by path.
+     */
+    public static Map<Path, Integer> validateAll(Path directory) throws IOException {
+        List<Path> paths;
+        try (Stream<Path> stream = Files.walk(directory)) {
+            paths = stream.filter(path -> path.toString().endsWith(JsonUtils.EXT) && Files.isRegularFile(path))
+                    .collect(Collectors.toList());
+        }
+
+        Map<Path, Integer> results = new ConcurrentHashMap<>();
+        paths.parallelStream().forEach(path -> results.put(path, validate(path)));
+        return new TreeMap<>(results);
+    }
+
+    /**
+     * @EFFECTS: Returns {@code true} if the current player can make the given move as start x, start y, end x, end y.
+     */
+    private static boolean isLegal(Board board, int[] data) {
+        for (int coordinate : data) {
+            if (coordinate < 0 || coordinate >= Board.SIZE) {
+                return false;
+            }
+        }
+
+        Square start = board.getSquare(data[0], data[1]);
+        return !board.isGameOver() && start.hasPiece() && start.getPiece().getColour() == board.getCurrentPlayer()
+                && new Move(start, board.getSquare(data[2], data[3])).isValid(board);
+    }
+
+    /**
+     * @REQUIRES: Instantiation of a utility class is not allowed.
+     */
+    private GameValidator() { /* pass */ }
+}
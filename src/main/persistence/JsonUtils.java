@@ -6,38 +6,121 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.IntConsumer;
 
 /**
  * Contains static methods for reading and writing JSON.
  */
 public final class JsonUtils {
-    private static final String PATH = "./data/";
-    private static final String EXT = ".cpsc";
+    static final String PATH = "./data/";
+    static final String EXT = ".cpsc";
+    private static final int PROGRESS_INTERVAL = 1024;
 
     /**
-     * @EFFECTS: Returns a list of moves loaded from the JSON file at the given path.
+     * @EFFECTS: Returns a list of moves loaded from the JSON or binary file at the given path.
      */
     public static List<Move> load(String fileName, Board board) throws IOException {
-        String jsonString = new String(Files.readAllBytes(Paths.get(PATH + fileName + EXT)));
-        return fromJson(new JSONObject(jsonString), board);
+        byte[] bytes = Files.readAllBytes(Paths.get(PATH + fileName + EXT));
+        if (BinaryUtils.isBinary(bytes)) {
+            return BinaryUtils.fromBytes(bytes, board);
+        }
+        return fromJson(new JSONObject(new String(bytes)), board);
+    }
+
+    /**
+     * @EFFECTS: Applies the moves of the JSON or binary file at the given path to the given board as they are read,
+     * without loading the whole file into memory.
+     * @MODIFIES: {@code board}
+     */
+    public static void replay(String fileName, Board board) throws IOException {
+        replay(fileName, board, progress -> { });
+    }
+
+    /**
+     * @EFFECTS: Same as {@code replay(fileName, board)}, but reports the percentage of the file read periodically,
+     * and stops with {@code InterruptedIOException} if the current thread is interrupted.
+     * @MODIFIES: {@code board}
+     */
+    public static void replay(String fileName, Board board, IntConsumer progress) throws IOException {
+        try (MoveReader reader = new MoveReader(Paths.get(PATH + fileName + EXT))) {
+            int[] data = new int[4];
+            for (int count = 1; reader.next(data); count++) {
+                board.doMove(new Move(board.getSquare(data[0], data[1]), board.getSquare(data[2], data[3])));
+                if (count % PROGRESS_INTERVAL == 0) {
+                    checkInterrupted();
+                    progress.accept(reader.getProgress());
+                }
+            }
+        }
+        progress.accept(100);
+    }
+
+    /**
+     * @EFFECTS: Returns a board at the given ply (the number of moves played) of the game in the JSON or binary file
+     * at the given path. Binary files with checkpoints are restored from the nearest one, see {@code BinaryUtils.seek}.
+     * @REQUIRES: {@code ply} is at most the number of moves
+     */
+    public static Board seek(String fileName, int ply) throws IOException {
+        byte[] bytes = Files.readAllBytes(Paths.get(PATH + fileName + EXT));
+        if (BinaryUtils.isBinary(bytes)) {
+            return BinaryUtils.seek(bytes, ply);
+        }
+
+        Board board = new Board();
+        fromJson(new JSONObject(new String(bytes)), board).stream().limit(ply).forEach(board::doMove);
+        return board;
     }
 
     /**
-     * @EFFECTS: Saves a list of moves to the JSON file at the given path.
+     * @EFFECTS: Saves a list of moves to the JSON file at the given path, writing one move at a time.
      * @MODIFIES: ./data/{@code fileName}.cpsc
      */
     public static void save(String fileName, List<Move> moves) throws IOException {
-        Files.write(Paths.get(PATH + fileName + EXT), toJson(moves).toString().getBytes());
+        save(fileName, moves, progress -> { });
+    }
+
+    /**
+     * @EFFECTS: Same as {@code save(fileName, moves)}, but reports the percentage of moves written periodically, and
+     * stops with {@code InterruptedIOException} if the current thread is interrupted. The file is written beside the
+     * old one and renamed over it at the end, so a cancelled save leaves the old file intact.
+     * @MODIFIES: ./data/{@code fileName}.cpsc
+     */
+    public static void save(String fileName, List<Move> moves, IntConsumer progress) throws IOException {
+        Path path = Paths.get(PATH + fileName + EXT);
+        Path tempPath = Paths.get(PATH + fileName + EXT + ".tmp");
+        try {
+            writeJson(tempPath, moves, progress);
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    /**
+     * @EFFECTS: Converts the given list of moves into a JSON object.
+     */
+    public static JSONObject toJson(List<Move> moves) {
+        JSONArray json = new JSONArray();
+        for (Move move : moves) {
+            json.put(new JSONArray().put(move.getStart().getX()).put(move.getStart().getY())
+                    .put(move.getEnd().getX()).put(move.getEnd().getY()));
+        }
+
+        return new JSONObject().put("moves", json);
     }
 
     /**
      * @EFFECTS: Converts the given JSON object into a list of moves.
      */
-    private static List<Move> fromJson(JSONObject jsonObject, Board board) {
+    static List<Move> fromJson(JSONObject jsonObject, Board board) {
         JSONArray json = jsonObject.getJSONArray("moves");
         List<Move> moves = new LinkedList<>();
         for (int i = 0; i < json.length(); i++) {
@@ -50,16 +133,37 @@ public final class JsonUtils {
     }
 
     /**
-     * @EFFECTS: Converts the given list of moves into a JSON object.
+     * @EFFECTS: Writes a list of moves to the given path as JSON, one move at a time.
      */
-    private static JSONObject toJson(List<Move> moves) {
-        JSONArray json = new JSONArray();
-        for (Move move : moves) {
-            json.put(new JSONArray().put(move.getStart().getX()).put(move.getStart().getY())
-                    .put(move.getEnd().getX()).put(move.getEnd().getY()));
+    private static void writeJson(Path path, List<Move> moves, IntConsumer progress) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            writer.write("{\"moves\":[");
+            String separator = "";
+            int count = 0;
+            for (Move move : moves) {
+                if (count % PROGRESS_INTERVAL == 0) {
+                    checkInterrupted();
+                    progress.accept(count * 100 / moves.size());
+                }
+                count++;
+                writer.append(separator).append('[').append(String.valueOf(move.getStart().getX())).append(',')
+                        .append(String.valueOf(move.getStart().getY())).append(',')
+                        .append(String.valueOf(move.getEnd().getX())).append(',')
+                        .append(String.valueOf(move.getEnd().getY())).append(']');
+                separator = ",";
+            }
+            writer.write("]}");
         }
+        progress.accept(100);
+    }
 
-        return new JSONObject().put("moves", json);
+    /**
+     * @EFFECTS: Throws {@code InterruptedIOException} if the current thread has been interrupted.
+     */
+    private static void checkInterrupted() throws InterruptedIOException {
+        if (Thread.interrupted()) {
+            throw new InterruptedIOException("Cancelled.");
+        }
     }
 
     /**
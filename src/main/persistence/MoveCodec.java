@@ -0,0 +1,191 @@
+package persistence;
+
+import model.Move;
+import model.board.Board;
+import model.board.Square;
+import model.engine.Search;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Contains static methods for the compact archive encoding of a game. Each move is stored as its index in the sorted
+ * list of moves available to the current player, which rarely needs more than one varint byte, and the whole game can
+ * be compressed with Deflate on top. Moves that are not in the list (games loaded without checks can contain them) are
+ * stored as an escape index followed by the raw move.
+ */
+public final class MoveCodec {
+    public static final int DEFLATED = 0x1;
+    // Enough for the moves of almost any position, so the list of moves rarely needs to grow.
+    private static final int INITIAL_MOVES = 64;
+
+    /**
+     * @EFFECTS: Encodes the given moves, compressing them with Deflate if {@code isDeflated}.
+     * @REQUIRES: the moves were played in order from the starting position
+     */
+    public static byte[] encode(List<Move> moves, boolean isDeflated) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream(moves.size() + 4);
+        putVarint(stream, moves.size());
+
+        Board board = new Board();
+        for (Move move : moves) {
+            int[] codes = getSortedCodes(board);
+            int index = Arrays.binarySearch(codes, Search.encode(move));
+            putVarint(stream, index < 0 ? codes.length : index);
+            if (index < 0) {
+                putVarint(stream, Search.encode(move));
+            }
+            board.doMove(new Move(board.getSquare(move.getStart().getX(), move.getStart().getY()),
+                    board.getSquare(move.getEnd().getX(), move.getEnd().getY())));
+        }
+
+        byte[] bytes = isDeflated ? deflate(stream.toByteArray()) : stream.toByteArray();
+        return ByteBuffer.allocate(1 + bytes.length).put((byte) (isDeflated ? DEFLATED : 0)).put(bytes).array();
+    }
+
+    /**
+     * @EFFECTS: Returns a new board with the moves of the given encoded game applied to it.
+     * @REQUIRES: {@code bytes} came from {@code encode}
+     * @throws IllegalArgumentException if a move index or escaped move is out of range
+     */
+    public static Board decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        if ((bytes[0] & DEFLATED) != 0) {
+            buffer = ByteBuffer.wrap(inflate(bytes));
+        }
+
+        Board board = new Board();
+        for (int i = getVarint(buffer); i > 0; i--) {
+            int[] codes = getSortedCodes(board);
+            int index = getVarint(buffer);
+            int code = index < codes.length ? codes[index] : getEscapedCode(buffer, index, codes.length);
+
+            int start = code / (Board.SIZE * Board.SIZE);
+            int end = code % (Board.SIZE * Board.SIZE);
+            board.doMove(new Move(board.getSquare(start % Board.SIZE, start / Board.SIZE),
+                    board.getSquare(end % Board.SIZE, end / Board.SIZE)));
+        }
+        return board;
+    }
+
+    /**
+     * @EFFECTS: Reads the raw move after the escape index at the given position in the list of moves, which must be
+     * just past the end of the list.
+     * @MODIFIES: {@code buffer}
+     * @throws IllegalArgumentException if the index is not the escape index, or the move is out of range
+     */
+    private static int getEscapedCode(ByteBuffer buffer, int index, int count) {
+        if (index != count) {
+            throw new IllegalArgumentException("Malformed encoded game. Move index out of range: " + index);
+        }
+
+        int code = getVarint(buffer);
+        if (code < 0 || code >= Board.SIZE * Board.SIZE * Board.SIZE * Board.SIZE) {
+            throw new IllegalArgumentException("Malformed encoded game. Move out of range: " + code);
+        }
+        return code;
+    }
+
+    /**
+     * @EFFECTS: Returns the sorted encodings (see {@code Search.encode}) of every move available to the current player.
+     */
+    private static int[] getSortedCodes(Board board) {
+        int[] codes = new int[INITIAL_MOVES];
+        int count = 0;
+        for (int i = 0; i < Board.SIZE * Board.SIZE; i++) {
+            Square square = board.getSquare(i % Board.SIZE, i / Board.SIZE);
+            if (square.hasPiece() && square.getPiece().getColour() == board.getCurrentPlayer()) {
+                for (Square end : square.getPiece().getValidSquares(board, square)) {
+                    if (count == codes.length) {
+                        codes = Arrays.copyOf(codes, 2 * count);
+                    }
+                    codes[count++] = i * Board.SIZE * Board.SIZE + end.getY() * Board.SIZE + end.getX();
+                }
+            }
+        }
+
+        codes = Arrays.copyOf(codes, count);
+        Arrays.sort(codes);
+        return codes;
+    }
+
+    /**
+     * @EFFECTS: Writes the given non-negative integer 7 bits at a time, least significant first, with the high bit of
+     * each byte set if more follow.
+     * @MODIFIES: {@code stream}
+     */
+    private static void putVarint(ByteArrayOutputStream stream, int value) {
+        while (value >= 0x80) {
+            stream.write(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        stream.write(value);
+    }
+
+    /**
+     * @EFFECTS: Reads an integer written by {@code putVarint}.
+     * @MODIFIES: {@code buffer}
+     */
+    private static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * @EFFECTS: Returns the given bytes compressed with raw Deflate.
+     */
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        deflater.setInput(bytes);
+        deflater.finish();
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream(bytes.length);
+        byte[] chunk = new byte[1024];
+        while (!deflater.finished()) {
+            stream.write(chunk, 0, deflater.deflate(chunk));
+        }
+        deflater.end();
+        return stream.toByteArray();
+    }
+
+    /**
+     * @EFFECTS: Returns the raw Deflate data after the flags byte of the given encoded game, decompressed.
+     */
+    private static byte[] inflate(byte[] bytes) {
+        Inflater inflater = new Inflater(true);
+        inflater.setInput(bytes, 1, bytes.length - 1);
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream(4 * bytes.length);
+        byte[] chunk = new byte[1024];
+        try {
+            while (!inflater.finished()) {
+                int length = inflater.inflate(chunk);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Malformed encoded game. Truncated data.");
+                }
+                stream.write(chunk, 0, length);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Malformed encoded game. " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+        return stream.toByteArray();
+    }
+
+    /**
+     * @REQUIRES: Instantiation of a utility class is not allowed.
+     */
+    private MoveCodec() { /* pass */ }
+}
@@ -0,0 +1,319 @@
+package persistence;
+
+import model.Move;
+import model.board.Board;
+import model.board.MoveListener;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Represents an append-only journal of the moves of a game, so that it can be recovered after a crash. Moves are
+ * queued in memory as the board applies them and written by a background thread in groups with one fsync each, once
+ * either the batch size is reached or the oldest queued move has waited for the maximum delay. If a write fails, the
+ * journal stops queueing moves, and every later flush throws the failure. A journal may start with a header holding a
+ * tag, which the owner uses to describe the game (such as who is playing it) so that it can be restored with the moves.
+ */
+public class MoveJournal implements MoveListener, Closeable {
+    public static final String EXT = ".cpsj";
+    public static final int DEFAULT_BATCH_SIZE = 64;
+    public static final long DEFAULT_MAX_DELAY = 20;
+
+    // Each record is a 2-byte move followed by a 2-byte check, so that a torn write at the end can be detected.
+    private static final int RECORD_SIZE = 4;
+    private static final int CHECK_MASK = 0x5A5A;
+    // The header has the same size as a record, and starts with a move from a square to itself, which is never legal.
+    private static final int HEADER_MARK = 0xFFFF;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int batchSize;
+    private final long maxDelay;
+    private final Thread flusher;
+
+    private final ByteArrayOutputStream pending;
+    private long pendingSince;
+    private long queuedCount;
+    private long durableCount;
+    private long groupCount;
+    private long groupSince;
+    private boolean isFlushRequested;
+    private boolean isClosed;
+    private IOException failure;
+    private int tag;
+
+    private long syncCount;
+    private long totalLatency;
+    private long maxLatency;
+
+    /**
+     * @EFFECTS: Opens the journal with the given name and default batching, creating it if it does not exist.
+     */
+    public MoveJournal(String name) throws IOException {
+        this(name, DEFAULT_BATCH_SIZE, DEFAULT_MAX_DELAY);
+    }
+
+    /**
+     * @EFFECTS: Opens the journal with the given name, syncing after every {@code batchSize} moves or at most
+     * {@code maxDelay} milliseconds after a move, and starts its background thread.
+     * @REQUIRES: {@code batchSize > 0}, {@code maxDelay >= 0}
+     */
+    public MoveJournal(String name, int batchSize, long maxDelay) throws IOException {
+        this.path = Paths.get(JsonUtils.PATH + name + EXT);
+        this.channel = FileChannel.open(path, CREATE, WRITE, APPEND);
+        this.batchSize = batchSize;
+        this.maxDelay = maxDelay * 1000000;
+
+        this.pending = new ByteArrayOutputStream();
+        this.isFlushRequested = false;
+        this.isClosed = false;
+        this.failure = null;
+        this.tag = 0;
+
+        this.flusher = new Thread(this::runFlusher, "journal-" + name);
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * @EFFECTS: Queues the given move to be written to the journal, without waiting for it to be written, unless the
+     * journal has failed.
+     * @MODIFIES: {@code this}
+     */
+    @Override
+    public synchronized void moveDone(Move move) {
+        if (failure != null) {
+            return;
+        }
+        if (pending.size() == 0) {
+            pendingSince = System.nanoTime();
+        }
+
+        int data = BinaryUtils.encode(move);
+        pending.write(data >>> 8);
+        pending.write(data);
+        pending.write((data ^ CHECK_MASK) >>> 8);
+        pending.write(data ^ CHECK_MASK);
+        queuedCount++;
+        if (queuedCount - durableCount >= batchSize) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * @EFFECTS: Reads the tag from the header (or {@code 0} if there is none), applies every intact move in the journal
+     * to the given board, discards anything after the first damaged record, and returns the number of moves recovered.
+     * @MODIFIES: {@code this}, {@code board}
+     * @REQUIRES: before any moves are queued
+     */
+    public synchronized int recover(Board board) throws IOException {
+        int count = 0;
+        long length = 0;
+        try (DataInputStream stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            int[] data = new int[4];
+            while (stream.available() >= RECORD_SIZE) {
+                int move = stream.readUnsignedShort();
+                int check = stream.readUnsignedShort();
+                if (length == 0 && move == HEADER_MARK) {
+                    tag = check;
+                } else if ((check ^ CHECK_MASK) != move) {
+                    break;
+                } else {
+                    BinaryUtils.decode(move, data);
+                    board.doMove(new Move(board.getSquare(data[0], data[1]), board.getSquare(data[2], data[3])));
+                    count++;
+                }
+                length += RECORD_SIZE;
+            }
+        }
+        channel.truncate(length);
+        return count;
+    }
+
+    /**
+     * @EFFECTS: Replaces the contents of the journal with the given moves and no tag, and waits for them to be
+     * written.
+     * @MODIFIES: {@code this}
+     */
+    public void reset(List<Move> moves) throws IOException {
+        reset(moves, 0);
+    }
+
+    /**
+     * @EFFECTS: Replaces the contents of the journal with a header holding the given tag followed by the given moves,
+     * and waits for them to be written.
+     * @MODIFIES: {@code this}
+     * @REQUIRES: {@code 0 <= tag <= 0xFFFF}
+     */
+    public void reset(List<Move> moves, int tag) throws IOException {
+        flush();
+        synchronized (this) {
+            channel.truncate(0);
+            this.tag = tag;
+            if (tag != 0) {
+                ByteBuffer header = ByteBuffer.allocate(RECORD_SIZE);
+                channel.write(header.putShort((short) HEADER_MARK).putShort((short) tag).flip());
+                channel.force(false);
+            }
+            for (Move move : moves) {
+                moveDone(move);
+            }
+        }
+        flush();
+    }
+
+    /**
+     * @EFFECTS: Waits until every move queued so far has been written and synced, and throws {@code IOException} if
+     * the journal has failed to write any move.
+     */
+    public synchronized void flush() throws IOException {
+        long target = queuedCount;
+        isFlushRequested = true;
+        notifyAll();
+
+        while (durableCount < target && failure == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while flushing the journal.");
+            }
+        }
+        if (failure != null) {
+            throw new IOException("Could not write the journal.", failure);
+        }
+    }
+
+    /**
+     * @EFFECTS: Writes any queued moves, then stops the background thread and closes the journal. Throws
+     * {@code IOException} if the journal has failed to write any move, after closing it.
+     * @MODIFIES: {@code this}
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            synchronized (this) {
+                isClosed = true;
+                notifyAll();
+            }
+
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            channel.close();
+        }
+    }
+
+    /**
+     * @EFFECTS: Returns {@code true} if the journal has failed to write a move, without waiting for queued moves.
+     */
+    public synchronized boolean isFailed() {
+        return failure != null;
+    }
+
+    public synchronized int getTag() {
+        return tag;
+    }
+
+    public synchronized long getMoveCount() {
+        return durableCount;
+    }
+
+    public synchronized long getSyncCount() {
+        return syncCount;
+    }
+
+    /**
+     * @EFFECTS: Returns the mean time in nanoseconds from the oldest move of a group being queued until the group is
+     * synced.
+     */
+    public synchronized long getAverageLatency() {
+        return syncCount == 0 ? 0 : totalLatency / syncCount;
+    }
+
+    /**
+     * @EFFECTS: Returns the longest time in nanoseconds from the oldest move of a group being queued until the group
+     * is synced.
+     */
+    public synchronized long getMaxLatency() {
+        return maxLatency;
+    }
+
+    /**
+     * @EFFECTS: Writes and syncs groups of queued moves until the journal is closed.
+     * @MODIFIES: {@code this}
+     */
+    private void runFlusher() {
+        try {
+            for (byte[] group = awaitGroup(); group != null; group = awaitGroup()) {
+                channel.write(ByteBuffer.wrap(group));
+                channel.force(false);
+                completeGroup();
+            }
+        } catch (IOException e) {
+            fail(e);
+        } catch (InterruptedException e) {
+            fail(new InterruptedIOException("The journal thread was interrupted."));
+        }
+    }
+
+    /**
+     * @EFFECTS: Records the given failure, drops the queued moves that will never be written, and wakes any waiting
+     * flush.
+     * @MODIFIES: {@code this}
+     */
+    private synchronized void fail(IOException e) {
+        failure = e;
+        pending.reset();
+        notifyAll();
+    }
+
+    /**
+     * @EFFECTS: Waits until a group of moves is due, then takes the queued moves and returns their bytes, or returns
+     * {@code null} once the journal is closed.
+     * @MODIFIES: {@code this}
+     */
+    private synchronized byte[] awaitGroup() throws InterruptedException {
+        while (!isClosed) {
+            long waiting = queuedCount - durableCount;
+            long elapsed = System.nanoTime() - pendingSince;
+
+            if (waiting > 0 && (waiting >= batchSize || elapsed >= maxDelay || isFlushRequested)) {
+                isFlushRequested = false;
+                groupCount = queuedCount;
+                groupSince = pendingSince;
+
+                byte[] bytes = pending.toByteArray();
+                pending.reset();
+                return bytes;
+            }
+            isFlushRequested = false;
+            wait(waiting > 0 ? Math.max(1, (maxDelay - elapsed) / 1000000) : 0);
+        }
+        return null;
+    }
+
+    /**
+     * @EFFECTS: Marks the moves of the last group as durable and records its latency.
+     * @MODIFIES: {@code this}
+     */
+    private synchronized void completeGroup() {
+        long latency = System.nanoTime() - groupSince;
+        durableCount = groupCount;
+        syncCount++;
+        totalLatency += latency;
+        maxLatency = Math.max(maxLatency, latency);
+        notifyAll();
+    }
+}
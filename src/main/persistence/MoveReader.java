@@ -0,0 +1,228 @@
+package persistence;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Represents a streaming reader for the moves of a JSON or binary save file. Moves are tokenized straight from a
+ * buffered file channel one at a time, so memory use does not grow with the length of the game.
+ */
+public class MoveReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String MOVES_KEY = "moves";
+
+    private final FileChannel channel;
+    private final long size;
+    private final DataInputStream stream;
+    private final boolean isBinary;
+    private int remainingMoves;
+    private int pushback;
+    private boolean isFirstMove;
+    private boolean isDone;
+
+    /**
+     * @EFFECTS: Opens a new reader for the save file at the given path, positioned before its first move.
+     */
+    public MoveReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.stream = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+        this.pushback = -1;
+        this.isFirstMove = true;
+        this.isDone = false;
+
+        stream.mark(BinaryUtils.HEADER_SIZE);
+        byte[] header = stream.readNBytes(BinaryUtils.HEADER_SIZE);
+        this.isBinary = BinaryUtils.isBinary(header);
+
+        if (isBinary) {
+            remainingMoves = BinaryUtils.readMoveCount(header, stream);
+        } else {
+            stream.reset();
+            seekMoves();
+        }
+    }
+
+    /**
+     * @EFFECTS: Reads the next move as start x, start y, end x, end y into the given array, and returns {@code true},
+     * or returns {@code false} if there are no more moves.
+     * @MODIFIES: {@code this}, {@code move}
+     */
+    public boolean next(int[] move) throws IOException {
+        if (isBinary) {
+            if (remainingMoves == 0) {
+                return false;
+            }
+            remainingMoves--;
+            BinaryUtils.decode(stream.readUnsignedShort(), move);
+            return true;
+        }
+        return !isDone && nextJson(move);
+    }
+
+    /**
+     * @EFFECTS: Returns the percentage of the file read so far, to the nearest buffer.
+     */
+    public int getProgress() throws IOException {
+        return size == 0 ? 100 : (int) (channel.position() * 100 / size);
+    }
+
+    /**
+     * @EFFECTS: See {@code Closeable.close}.
+     */
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+
+    /**
+     * @EFFECTS: Reads the next move of the JSON moves array into the given array, if any.
+     * @MODIFIES: {@code this}, {@code move}
+     */
+    private boolean nextJson(int[] move) throws IOException {
+        int token = readToken();
+        if (token == ']') {
+            isDone = true;
+            return false;
+        } else if (token != (isFirstMove ? '[' : ',')) {
+            throw getException("Expected a move");
+        }
+
+        // Moves after the first are preceded by a separator.
+        if (!isFirstMove) {
+            expect('[');
+        }
+        isFirstMove = false;
+        for (int i = 0; i < move.length; i++) {
+            move[i] = readInt();
+            expect(i < move.length - 1 ? ',' : ']');
+        }
+        return true;
+    }
+
+    /**
+     * @EFFECTS: Skips over the JSON object until the opening bracket of the first move, or the end of an empty moves
+     * array.
+     * @MODIFIES: {@code this}
+     */
+    private void seekMoves() throws IOException {
+        expect('{');
+        while (true) {
+            expect('"');
+            String key = readString();
+            expect(':');
+
+            if (key.equals(MOVES_KEY)) {
+                expect('[');
+                return;
+            }
+            skipValue();
+            if (readToken() != ',') {
+                throw getException("Missing key: " + MOVES_KEY);
+            }
+        }
+    }
+
+    /**
+     * @EFFECTS: Skips over the next JSON value of any type.
+     * @MODIFIES: {@code this}
+     */
+    private void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            int token = readToken();
+            if (token == '"') {
+                readString();
+            } else if (token == '{' || token == '[') {
+                depth++;
+            } else if (token == '}' || token == ']') {
+                depth--;
+            } else if (token == ',' && depth == 0 || token < 0) {
+                throw getException("Unexpected token");
+            } else if (depth == 0) {
+                // Skip the rest of a number or literal.
+                int b = stream.read();
+                while (isLiteral(b)) {
+                    b = stream.read();
+                }
+                pushback = b;
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * @EFFECTS: Reads a JSON string after its opening quote, resolving only simple escapes.
+     * @MODIFIES: {@code this}
+     */
+    private String readString() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (int b = stream.read(); b != '"'; b = stream.read()) {
+            if (b < 0) {
+                throw getException("Unterminated string");
+            }
+            bytes.write(b == '\\' ? stream.read() : b);
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @EFFECTS: Reads a JSON integer.
+     * @MODIFIES: {@code this}
+     */
+    private int readInt() throws IOException {
+        int b = readToken();
+        boolean isNegative = b == '-';
+        b = isNegative ? stream.read() : b;
+        if (b < '0' || b > '9') {
+            throw getException("Expected a number");
+        }
+
+        int value = 0;
+        for (; b >= '0' && b <= '9'; b = stream.read()) {
+            value = value * 10 + (b - '0');
+        }
+        pushback = b;
+        return isNegative ? -value : value;
+    }
+
+    /**
+     * @EFFECTS: Reads the next token and throws if it is not the given one.
+     * @MODIFIES: {@code this}
+     */
+    private void expect(int expected) throws IOException {
+        if (readToken() != expected) {
+            throw getException("Expected: " + (char) expected);
+        }
+    }
+
+    /**
+     * @EFFECTS: Returns the next byte that is not whitespace, or -1 at the end of the file.
+     * @MODIFIES: {@code this}
+     */
+    private int readToken() throws IOException {
+        int b = pushback >= 0 ? pushback : stream.read();
+        pushback = -1;
+        while (Character.isWhitespace(b)) {
+            b = stream.read();
+        }
+        return b;
+    }
+
+    /**
+     * @EFFECTS: Returns {@code true} if the given byte can be part of a JSON number or literal.
+     */
+    private static boolean isLiteral(int b) {
+        return Character.isLetterOrDigit(b) || b == '-' || b == '+' || b == '.';
+    }
+
+    /**
+     * @EFFECTS: Returns an exception describing malformed JSON.
+     */
+    private static IllegalArgumentException getException(String message) {
+        return new IllegalArgumentException("Malformed save file. " + message);
+    }
+}
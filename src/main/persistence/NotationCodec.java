@@ -0,0 +1,306 @@
+package persistence;
+
+import model.Move;
+import model.board.Board;
+import model.board.Square;
+import model.piece.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contains static methods for writing and reading games in a SAN-like text notation, such as
+ * {@code 1. e4 d5 2. exd5 Nf6 3. Nc3 Nbd7}. A piece move is disambiguated by its start file, rank or both when
+ * another piece of the same kind could also reach the end square, so every move can be parsed back against the board.
+ * Moves are written and read one at a time, so text dumps of any length can be streamed.
+ */
+public final class NotationCodec {
+    private static final String PIECE_PREFIXES = "NBRQK";
+    private static final String IGNORED_SUFFIXES = "+#!?";
+    private static final int BUFFER_SIZE = 1 << 13;
+
+    /**
+     * @EFFECTS: Writes the given moves with move numbers to the given output, replaying them on a new board to
+     * disambiguate them.
+     * @MODIFIES: {@code out}
+     * @REQUIRES: the moves were played in order from the starting position
+     */
+    public static void write(Appendable out, List<Move> moves) throws IOException {
+        Board board = new Board();
+        for (Move move : moves) {
+            if (board.getHistory().size() % 2 == 0) {
+                out.append(String.valueOf(board.getHistory().size() / 2 + 1)).append(". ");
+            }
+
+            Move boardMove = new Move(board.getSquare(move.getStart().getX(), move.getStart().getY()),
+                    board.getSquare(move.getEnd().getX(), move.getEnd().getY()));
+            appendMove(out, board, boardMove);
+            out.append(' ');
+            board.doMove(boardMove);
+        }
+    }
+
+    /**
+     * @EFFECTS: Returns the notation of each of the given moves, without move numbers.
+     * @REQUIRES: the moves were played in order from the starting position
+     */
+    public static List<String> toStrings(List<Move> moves) {
+        List<String> strings = new ArrayList<>(moves.size());
+        Board board = new Board();
+        StringBuilder stringBuilder = new StringBuilder();
+
+        for (Move move : moves) {
+            Move boardMove = new Move(board.getSquare(move.getStart().getX(), move.getStart().getY()),
+                    board.getSquare(move.getEnd().getX(), move.getEnd().getY()));
+            stringBuilder.setLength(0);
+            try {
+                appendMove(stringBuilder, board, boardMove);
+            } catch (IOException e) { /* StringBuilder never throws. */ }
+            strings.add(stringBuilder.toString());
+            board.doMove(boardMove);
+        }
+        return strings;
+    }
+
+    /**
+     * @EFFECTS: Writes the notation of the given move to the given output.
+     * @MODIFIES: {@code out}
+     * @REQUIRES: before {@code board.doMove(move)}, and {@code move} refers to the squares of {@code board}
+     */
+    public static void appendMove(Appendable out, Board board, Move move) throws IOException {
+        Piece piece = move.getStart().getPiece();
+        int dx = move.getEnd().getX() - move.getStart().getX();
+        if (piece instanceof King && Math.abs(dx) == 2) {
+            out.append(dx > 0 ? "O-O" : "O-O-O");
+            return;
+        }
+
+        boolean isCapture = move.getEnd().hasPiece() || piece instanceof Pawn && dx != 0;
+        if (piece instanceof Pawn) {
+            if (isCapture) {
+                out.append((char) ('a' + move.getStart().getX()));
+            }
+        } else {
+            out.append(piece.getPrefix());
+            appendDisambiguation(out, board, move);
+        }
+
+        if (isCapture) {
+            out.append('x');
+        }
+        out.append((char) ('a' + move.getEnd().getX())).append((char) ('1' + move.getEnd().getY()));
+        int lastRank = piece.getColour().getDirection() > 0 ? Board.SIZE - 1 : 0;
+        if (piece instanceof Pawn && move.getEnd().getY() == lastRank) {
+            out.append("=Q");
+        }
+    }
+
+    /**
+     * @EFFECTS: Parses moves from the given input and plays them on the given board until the input ends, skipping
+     * move numbers, and returns the number of moves played.
+     * @MODIFIES: {@code board}
+     * @throws IllegalArgumentException if a move is malformed, ambiguous or illegal
+     */
+    public static int read(Reader in, Board board) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        StringBuilder token = new StringBuilder();
+        int count = 0;
+
+        for (int length = in.read(buffer); length >= 0; length = in.read(buffer)) {
+            for (int i = 0; i < length; i++) {
+                if (!Character.isWhitespace(buffer[i])) {
+                    token.append(buffer[i]);
+                } else if (token.length() > 0) {
+                    count += readToken(token, board);
+                }
+            }
+        }
+        return count + (token.length() > 0 ? readToken(token, board) : 0);
+    }
+
+    /**
+     * @EFFECTS: Returns the move on the given board written as the given notation.
+     * @throws IllegalArgumentException if the move is malformed, ambiguous or illegal
+     */
+    public static Move parseMove(CharSequence text, Board board) {
+        int end = text.length();
+        while (end > 0 && IGNORED_SUFFIXES.indexOf(text.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        String string = text.subSequence(0, end).toString();
+        if (string.endsWith("=Q")) {
+            string = string.substring(0, string.length() - 2);
+        }
+
+        Move move = string.equals("O-O") || string.equals("O-O-O") ? parseCastling(string, board)
+                : parseSquares(string, board);
+        if (move == null || !move.getStart().hasPiece()
+                || move.getStart().getPiece().getColour() != board.getCurrentPlayer() || !move.isValid(board)) {
+            throw new IllegalArgumentException("Illegal move: " + text);
+        }
+        return move;
+    }
+
+    /**
+     * @EFFECTS: Plays the move written as the given token on the given board unless it is a move number, clears the
+     * token, and returns the number of moves played.
+     * @MODIFIES: {@code token}, {@code board}
+     */
+    private static int readToken(StringBuilder token, Board board) {
+        boolean isMoveNumber = token.charAt(token.length() - 1) == '.';
+        if (!isMoveNumber) {
+            board.doMove(parseMove(token, board));
+        }
+        token.setLength(0);
+        return isMoveNumber ? 0 : 1;
+    }
+
+    /**
+     * @EFFECTS: Returns the castling move of the current player written as the given notation.
+     */
+    private static Move parseCastling(String string, Board board) {
+        int y = board.getCurrentPlayer().getDirection() > 0 ? 0 : Board.SIZE - 1;
+        int x = Board.SIZE - 4;
+        return new Move(board.getSquare(x, y), board.getSquare(string.length() == 3 ? x + 2 : x - 2, y));
+    }
+
+    /**
+     * @EFFECTS: Returns the piece or pawn move written as the given notation, or {@code null} if there is none.
+     * @throws IllegalArgumentException if the move is malformed or ambiguous
+     */
+    private static Move parseSquares(String string, Board board) {
+        int length = string.length();
+        if (length < 2 || !isFile(string.charAt(length - 2)) || !isRank(string.charAt(length - 1))) {
+            throw new IllegalArgumentException("Malformed move: " + string);
+        }
+        Square end = board.getSquare(string.charAt(length - 2) - 'a', string.charAt(length - 1) - '1');
+
+        int prefix = PIECE_PREFIXES.indexOf(string.charAt(0));
+        int fromX = -1;
+        int fromY = -1;
+        for (int i = prefix < 0 ? 0 : 1; i < length - 2; i++) {
+            char c = string.charAt(i);
+            fromX = isFile(c) ? c - 'a' : fromX;
+            fromY = isRank(c) ? c - '1' : fromY;
+            if (!isFile(c) && !isRank(c) && c != 'x') {
+                throw new IllegalArgumentException("Malformed move: " + string);
+            }
+        }
+        return prefix < 0 ? parsePawnMove(board, end, fromX) : findPieceMove(board, end, prefix, fromX, fromY);
+    }
+
+    /**
+     * @EFFECTS: Returns the pawn move of the current player to the given square, from the given file if it is a
+     * capture ({@code fromX >= 0}), or {@code null} if there is none.
+     */
+    private static Move parsePawnMove(Board board, Square end, int fromX) {
+        int direction = board.getCurrentPlayer().getDirection();
+        int y = end.getY() - direction;
+        if (board.isOutOfBounds(0, y)) {
+            return null;
+        }
+
+        Square start = board.getSquare(fromX >= 0 ? fromX : end.getX(), y);
+        if (fromX < 0 && !start.hasPiece() && !board.isOutOfBounds(0, y - direction)) {
+            start = board.getSquare(end.getX(), y - direction);
+        }
+        return start.getPiece() instanceof Pawn ? new Move(start, end) : null;
+    }
+
+    /**
+     * @EFFECTS: Returns the move of the only piece of the current player with the given prefix index and start file
+     * and rank (if not -1) that can reach the given square, or {@code null} if there is none.
+     * @throws IllegalArgumentException if more than one piece can reach it
+     */
+    private static Move findPieceMove(Board board, Square end, int prefix, int fromX, int fromY) {
+        Move move = null;
+        for (int i = 0; i < Board.SIZE * Board.SIZE; i++) {
+            Square square = board.getSquare(i % Board.SIZE, i / Board.SIZE);
+            Piece piece = square.getPiece();
+            if (piece != null && piece.getColour() == board.getCurrentPlayer()
+                    && !(piece instanceof Pawn) && piece.getPrefix().charAt(0) == PIECE_PREFIXES.charAt(prefix)
+                    && (fromX < 0 || square.getX() == fromX) && (fromY < 0 || square.getY() == fromY)
+                    && canReach(board, square, end)) {
+                if (move != null) {
+                    throw new IllegalArgumentException("Ambiguous move to: " + (char) ('a' + end.getX())
+                            + (char) ('1' + end.getY()));
+                }
+                move = new Move(square, end);
+            }
+        }
+        return move;
+    }
+
+    /**
+     * @EFFECTS: Writes the start file, rank or both of the given piece move if another piece of the same kind and
+     * colour could also reach its end square.
+     * @MODIFIES: {@code out}
+     */
+    private static void appendDisambiguation(Appendable out, Board board, Move move) throws IOException {
+        Piece piece = move.getStart().getPiece();
+        boolean isAmbiguous = false;
+        boolean isFileShared = false;
+        boolean isRankShared = false;
+
+        for (int i = 0; i < Board.SIZE * Board.SIZE && !(piece instanceof King); i++) {
+            Square square = board.getSquare(i % Board.SIZE, i / Board.SIZE);
+            if (square != move.getStart() && square.hasPiece() && square.getPiece().getClass() == piece.getClass()
+                    && square.getPiece().getColour() == piece.getColour() && canReach(board, square, move.getEnd())) {
+                isAmbiguous = true;
+                isFileShared |= square.getX() == move.getStart().getX();
+                isRankShared |= square.getY() == move.getStart().getY();
+            }
+        }
+
+        if (isAmbiguous && (!isFileShared || isRankShared)) {
+            out.append((char) ('a' + move.getStart().getX()));
+        }
+        if (isFileShared) {
+            out.append((char) ('1' + move.getStart().getY()));
+        }
+    }
+
+    /**
+     * @EFFECTS: Returns {@code true} if the knight, bishop, rook, queen or king on the given square moves in a way
+     * that reaches the given square, with nothing in between.
+     */
+    private static boolean canReach(Board board, Square start, Square end) {
+        Piece piece = start.getPiece();
+        int dx = end.getX() - start.getX();
+        int dy = end.getY() - start.getY();
+        if (piece instanceof Knight || piece instanceof King) {
+            return piece instanceof Knight ? dx * dx + dy * dy == 5 : Math.max(Math.abs(dx), Math.abs(dy)) == 1;
+        }
+
+        boolean isStraight = dx == 0 || dy == 0;
+        boolean isDiagonal = Math.abs(dx) == Math.abs(dy);
+        if ((dx == 0 && dy == 0) || (piece instanceof Rook && !isStraight) || (piece instanceof Bishop && !isDiagonal)
+                || !(isStraight || isDiagonal)) {
+            return false;
+        }
+
+        int distance = Math.max(Math.abs(dx), Math.abs(dy));
+        for (int i = 1; i < distance; i++) {
+            int x = start.getX() + i * Integer.signum(dx);
+            if (board.getSquare(x, start.getY() + i * Integer.signum(dy)).hasPiece()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isFile(char c) {
+        return c >= 'a' && c < 'a' + Board.SIZE;
+    }
+
+    private static boolean isRank(char c) {
+        return c >= '1' && c < '1' + Board.SIZE;
+    }
+
+    /**
+     * @REQUIRES: Instantiation of a utility class is not allowed.
+     */
+    private NotationCodec() { /* pass */ }
+}
@@ -0,0 +1,325 @@
+package persistence;
+
+import model.Move;
+import model.board.Board;
+import model.engine.Zobrist;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Represents an on-disk index from position hashes to the games of an archive that reached them. The index is made
+ * of immutable runs, each covering a batch of consecutive game ids and sorted by hash, which are memory-mapped for
+ * lookups. New games are indexed by adding runs, so the index never has to be rebuilt. A new run is merged into the
+ * one before it while they are of similar size, so that each run holds more than twice as many entries as the next
+ * and a lookup only searches a logarithmic number of runs.
+ */
+public class PositionIndex {
+    public static final String EXT = ".cpsx";
+    private static final int BATCH_SIZE = 1 << 16;
+
+    // Each run starts with its first game id and game count, followed by entries of hash, game id and ply.
+    private static final int HEADER_SIZE = 8;
+    private static final int ENTRY_SIZE = 16;
+    private static final int MERGE_RATIO = 2;
+
+    private final String name;
+    private final List<MappedByteBuffer> runs;
+    private int indexedCount;
+
+    /**
+     * @EFFECTS: Opens the index with the given name, loading any existing runs.
+     */
+    public PositionIndex(String name) throws IOException {
+        this.name = name;
+        this.runs = new ArrayList<>();
+        this.indexedCount = 0;
+
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(JsonUtils.PATH), name + "-*" + EXT)) {
+            stream.forEach(paths::add);
+        }
+        paths.sort(Comparator.comparing(Path::toString));
+        for (Path path : paths) {
+            addRun(path);
+
+            // A run covered by the one before it was left behind by a merge that did not finish.
+            MappedByteBuffer run = runs.get(runs.size() - 1);
+            if (runs.size() > 1 && run.getInt(0) < getEndId(runs.get(runs.size() - 2))) {
+                runs.remove(runs.size() - 1);
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * @EFFECTS: Indexes every game of the given archive that has not been indexed yet, replaying games in parallel,
+     * and returns the number of games added.
+     * @MODIFIES: {@code this}, ./data/{@code name}-*.cpsx
+     */
+    public synchronized int update(GameArchive archive) throws IOException {
+        int count = archive.size() - indexedCount;
+        while (indexedCount < archive.size()) {
+            indexBatch(archive, indexedCount, Math.min(archive.size(), indexedCount + BATCH_SIZE));
+        }
+        return count;
+    }
+
+    /**
+     * @EFFECTS: Returns every game id and ply (the number of moves played) at which a game reached the position on
+     * the given board.
+     */
+    public List<int[]> find(Board board) {
+        return find(Zobrist.hash(board));
+    }
+
+    /**
+     * @EFFECTS: Returns every game id and ply at which a game reached a position with the given hash.
+     */
+    public synchronized List<int[]> find(long hash) {
+        List<int[]> occurrences = new ArrayList<>();
+
+        for (MappedByteBuffer run : runs) {
+            int count = getEntryCount(run);
+            for (int i = getLowerBound(run, count, hash); i < count && getHash(run, i) == hash; i++) {
+                int offset = HEADER_SIZE + i * ENTRY_SIZE;
+                occurrences.add(new int[]{run.getInt(offset + 8), run.getInt(offset + 12)});
+            }
+        }
+        return occurrences;
+    }
+
+    public synchronized int getIndexedCount() {
+        return indexedCount;
+    }
+
+    /**
+     * @EFFECTS: Indexes the games of the given archive with ids in [from, to) as one new run.
+     * @MODIFIES: {@code this}, ./data/{@code name}-*.cpsx
+     */
+    private void indexBatch(GameArchive archive, int from, int to) throws IOException {
+        byte[][] records = new byte[to - from][];
+        for (int id = from; id < to; id++) {
+            records[id - from] = archive.getRecord(id);
+        }
+
+        long[][] hashes = new long[records.length][];
+        IntStream.range(0, records.length).parallel().forEach(i -> hashes[i] = getHashes(records[i]));
+
+        int count = 0;
+        for (long[] gameHashes : hashes) {
+            count += gameHashes.length;
+        }
+        long[] keys = new long[count];
+        long[] values = new long[count];
+        for (int i = 0, j = 0; i < hashes.length; i++) {
+            for (int ply = 0; ply < hashes[i].length; ply++, j++) {
+                keys[j] = hashes[i][ply];
+                values[j] = (long) (from + i) << 32 | ply;
+            }
+        }
+        sort(keys, values, 0, count);
+        writeRun(from, to - from, keys, values);
+    }
+
+    /**
+     * @EFFECTS: Writes a new run file and adds it to the index, then merges it with the runs before it while they are
+     * of similar size. The file is renamed into place only once complete.
+     * @MODIFIES: {@code this}, ./data/{@code name}-*.cpsx
+     */
+    private void writeRun(int from, int gameCount, long[] keys, long[] values) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + keys.length * ENTRY_SIZE).putInt(from).putInt(gameCount);
+        for (int i = 0; i < keys.length; i++) {
+            buffer.putLong(keys[i]).putLong(values[i]);
+        }
+
+        Path path = getRunPath(from);
+        Path temporaryPath = Paths.get(path + ".tmp");
+        Files.write(temporaryPath, buffer.array());
+        Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        addRun(path);
+
+        while (runs.size() > 1 && canMerge(runs.get(runs.size() - 2), runs.get(runs.size() - 1))) {
+            mergeLastRuns();
+        }
+    }
+
+    /**
+     * @EFFECTS: Replaces the last two runs with one run holding the entries of both, merged in order of hash and then
+     * of game id. The merged file replaces the file of the older run, and the file of the newer run is deleted after.
+     * @MODIFIES: {@code this}, ./data/{@code name}-*.cpsx
+     * @REQUIRES: {@code runs.size() > 1}
+     */
+    private void mergeLastRuns() throws IOException {
+        MappedByteBuffer newer = runs.remove(runs.size() - 1);
+        MappedByteBuffer older = runs.remove(runs.size() - 1);
+        int olderCount = getEntryCount(older);
+        int newerCount = getEntryCount(newer);
+
+        Path path = getRunPath(older.getInt(0));
+        Path temporaryPath = Paths.get(path + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(temporaryPath)))) {
+            out.writeInt(older.getInt(0));
+            out.writeInt(older.getInt(4) + newer.getInt(4));
+            for (int i = 0, j = 0; i < olderCount || j < newerCount; ) {
+                boolean isOlder = j == newerCount || i < olderCount && getHash(older, i) <= getHash(newer, j);
+                int offset = HEADER_SIZE + (isOlder ? i++ : j++) * ENTRY_SIZE;
+                out.writeLong((isOlder ? older : newer).getLong(offset));
+                out.writeLong((isOlder ? older : newer).getLong(offset + 8));
+            }
+        }
+        Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        Files.delete(getRunPath(newer.getInt(0)));
+        addRun(path);
+    }
+
+    /**
+     * @EFFECTS: Returns {@code true} if the given older run holds at most {@code MERGE_RATIO} times as many entries as
+     * the given newer run, and the merged run would still fit in one memory map.
+     */
+    private static boolean canMerge(MappedByteBuffer older, MappedByteBuffer newer) {
+        return getEntryCount(older) <= (long) MERGE_RATIO * getEntryCount(newer)
+                && (long) older.limit() + newer.limit() - HEADER_SIZE <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * @EFFECTS: Returns the path of the run file starting at the given game id. Zero-padding the id keeps the runs in
+     * order when sorted by file name.
+     */
+    private Path getRunPath(int from) {
+        return Paths.get(JsonUtils.PATH + name + String.format(Locale.ROOT, "-%010d", from) + EXT);
+    }
+
+    /**
+     * @EFFECTS: Maps the run file at the given path into memory and adds it to the index.
+     * @MODIFIES: {@code this}
+     */
+    private void addRun(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer run = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            runs.add(run);
+            indexedCount = Math.max(indexedCount, getEndId(run));
+        }
+    }
+
+    /**
+     * @EFFECTS: Returns the hash of the position at each ply of the given binary save file contents, starting with the
+     * position before the first move.
+     */
+    private static long[] getHashes(byte[] record) {
+        Board board = new Board();
+        List<Move> moves = BinaryUtils.fromBytes(record, board);
+        long[] hashes = new long[moves.size() + 1];
+
+        hashes[0] = Zobrist.hash(board);
+        for (int i = 0; i < moves.size(); i++) {
+            board.doMove(moves.get(i));
+            hashes[i + 1] = Zobrist.hash(board);
+        }
+        return hashes;
+    }
+
+    /**
+     * @EFFECTS: Returns the index of the first entry of the given run with a hash of at least the given one.
+     */
+    private static int getLowerBound(MappedByteBuffer run, int count, long hash) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (getHash(run, middle) < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @EFFECTS: Returns the number of entries in the given run.
+     */
+    private static int getEntryCount(MappedByteBuffer run) {
+        return (run.limit() - HEADER_SIZE) / ENTRY_SIZE;
+    }
+
+    /**
+     * @EFFECTS: Returns the id after the last game covered by the given run.
+     */
+    private static int getEndId(MappedByteBuffer run) {
+        return run.getInt(0) + run.getInt(4);
+    }
+
+    /**
+     * @EFFECTS: Returns the hash of the entry at the given index of the given run.
+     */
+    private static long getHash(MappedByteBuffer run, int index) {
+        return run.getLong(HEADER_SIZE + index * ENTRY_SIZE);
+    }
+
+    /**
+     * @EFFECTS: Sorts the given keys in [from, to) in ascending order, moving the given values along with them. Equal
+     * keys are ordered by value, so that the order does not depend on the pivots. Only the smaller half is sorted
+     * recursively, which bounds the depth of the stack.
+     * @MODIFIES: {@code keys}, {@code values}
+     */
+    private static void sort(long[] keys, long[] values, int from, int to) {
+        while (to - from > 1) {
+            long pivotKey = keys[(from + to) >>> 1];
+            long pivotValue = values[(from + to) >>> 1];
+            int i = from;
+            int j = to - 1;
+            while (i <= j) {
+                while (compare(keys[i], values[i], pivotKey, pivotValue) < 0) {
+                    i++;
+                }
+                while (compare(keys[j], values[j], pivotKey, pivotValue) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(keys, values, i++, j--);
+                }
+            }
+
+            if (j - from < to - i) {
+                sort(keys, values, from, j + 1);
+                from = i;
+            } else {
+                sort(keys, values, i, to);
+                to = j + 1;
+            }
+        }
+    }
+
+    /**
+     * @EFFECTS: Compares two entries by key, then by value.
+     */
+    private static int compare(long key, long value, long otherKey, long otherValue) {
+        return key != otherKey ? Long.compare(key, otherKey) : Long.compare(value, otherValue);
+    }
+
+    /**
+     * @EFFECTS: Swaps the keys and values at the given indices.
+     * @MODIFIES: {@code keys}, {@code values}
+     */
+    private static void swap(long[] keys, long[] values, int i, int j) {
+        long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+
+        long value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+}
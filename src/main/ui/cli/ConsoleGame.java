@@ -6,6 +6,7 @@ import model.board.Board;
 import model.board.Square;
 import model.piece.Pawn;
 import persistence.JsonUtils;
+import persistence.MoveJournal;
 
 import java.io.IOException;
 import java.util.Scanner;
@@ -15,8 +16,12 @@ import java.util.Set;
  * Represents a game of chess via command line interface.
  */
 public class ConsoleGame {
+    private static final String JOURNAL_NAME = "console";
+
     private final Scanner scanner;
-    private final Board board;
+    private Board board;
+    private MoveJournal journal;
+    private boolean isJournalFailureShown;
 
     /**
      * @EFFECTS: Constructs a new game.
@@ -24,6 +29,8 @@ public class ConsoleGame {
     public ConsoleGame(Scanner scanner) {
         this.scanner = scanner;
         this.board = new Board();
+        this.journal = null;
+        this.isJournalFailureShown = false;
     }
 
     /**
@@ -45,7 +52,7 @@ public class ConsoleGame {
                     saveFile(input);
                     break;
                 case "quit":
-                    System.exit(0); // die
+                    quit();
                     break;
                 default:
                     System.out.println("[!] Input a valid command.");
@@ -86,9 +93,26 @@ public class ConsoleGame {
      * @MODIFIES: {@code this}
      */
     public ConsoleGame loadFile(String fileName) throws IOException {
-        for (Move move : JsonUtils.load(fileName, board)) {
-            board.doMove(move);
+        JsonUtils.replay(fileName, board);
+        return this;
+    }
+
+    /**
+     * @EFFECTS: Starts recording every move in a journal so that the game survives a crash, first recovering the last
+     * journaled game if {@code isRecovering} (unless it was over), and returns {@code this} for chaining.
+     * @MODIFIES: {@code this}, ./data/console.cpsj
+     */
+    public ConsoleGame startJournal(boolean isRecovering) throws IOException {
+        journal = new MoveJournal(JOURNAL_NAME);
+        if (isRecovering) {
+            journal.recover(board);
         }
+        if (isRecovering && board.isGameOver()) {
+            System.out.println("[@] The last game was over, so a new game was started.");
+            board = new Board();
+        }
+        journal.reset(board.getHistory());
+        board.addMoveListener(journal);
         return this;
     }
 
@@ -172,6 +196,7 @@ public class ConsoleGame {
         }
 
         board.doMove(move);
+        checkJournal();
         if (!board.isGameOver()) {
             delay();
         }
@@ -179,6 +204,32 @@ public class ConsoleGame {
         displayBoard();
     }
 
+    /**
+     * @EFFECTS: Warns the user the first time the journal fails to write a move, since the game will no longer survive
+     * a crash.
+     * @MODIFIES: {@code this}
+     */
+    private void checkJournal() {
+        if (journal != null && journal.isFailed() && !isJournalFailureShown) {
+            isJournalFailureShown = true;
+            System.out.println("[!] Could not write the journal. This game will not be recovered.");
+        }
+    }
+
+    /**
+     * @EFFECTS: Writes any moves still queued in the journal, then exits.
+     */
+    private void quit() {
+        try {
+            if (journal != null) {
+                journal.flush();
+            }
+        } catch (IOException e) {
+            System.out.println("[!] Could not write the journal. This game will not be recovered.");
+        }
+        System.exit(0); // die
+    }
+
     /**
      * @EFFECTS: Prints out whitespace and waits for any input as a rudimentary anti-screen-cheating measure.
      */
@@ -1,12 +1,25 @@
 package ui.cli;
 
+import model.board.Board;
+import persistence.CodecBenchmark;
+import persistence.GameArchive;
+import persistence.GameValidator;
+import persistence.JsonUtils;
+import persistence.PositionIndex;
+
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 
 /**
  * Represents the main menu via command line interface.
  */
 public class ConsoleUI {
+    private static final int BENCHMARK_ROUNDS = 1000;
+    private static final int MAX_PRINTED_OCCURRENCES = 20;
     private final Scanner scanner;
 
     /**
@@ -21,15 +34,34 @@ public class ConsoleUI {
      */
     public void start() {
         while (true) {
-            String[] input = scanner.nextLine().trim().toLowerCase().split(" ", 2);
+            // Only the command is case-insensitive, since file and directory names may not be.
+            String[] input = scanner.nextLine().trim().split(" ", 2);
 
-            switch (input[0]) {
+            switch (input[0].toLowerCase()) {
                 case "play":
-                    new ConsoleGame(scanner).displayBoard().displayHelp().start();
+                    startGame(false);
                     break;
                 case "load":
                     loadFile(input);
                     break;
+                case "recover":
+                    startGame(true);
+                    break;
+                case "import":
+                    importFiles(input);
+                    break;
+                case "export":
+                    exportGame(input);
+                    break;
+                case "validate":
+                    validateFiles(input);
+                    break;
+                case "find":
+                    findPosition(input);
+                    break;
+                case "benchmark":
+                    runBenchmark();
+                    break;
                 case "help":
                     displayHelp();
                     break;
@@ -46,10 +78,16 @@ public class ConsoleUI {
      * @EFFECTS: Prints out a list of valid commands, and returns {@code this} for chaining.
      */
     public ConsoleUI displayHelp() {
-        String string = "play             | Start a new game. \n"
-                + "load <file-name> | Load an existing game. \n"
-                + "help             | See valid commands. \n"
-                + "quit             | Quit.";
+        String string = "play                         | Start a new game. \n"
+                + "load <file-name>             | Load an existing game. \n"
+                + "recover                      | Recover the last unsaved game. \n"
+                + "import <archive>             | Pack all saved games into an archive. \n"
+                + "export <archive> <id> <file> | Save a game from an archive. \n"
+                + "validate <directory>         | Check all saved games in a directory for illegal moves. \n"
+                + "find <archive> <file> <ply>  | Find the archived games that reached a position of a game. \n"
+                + "benchmark                    | Compare save formats on all saved games. \n"
+                + "help                         | See valid commands. \n"
+                + "quit                         | Quit.";
 
         System.out.println(string);
         return this;
@@ -72,6 +110,19 @@ public class ConsoleUI {
         return this;
     }
 
+    /**
+     * @EFFECTS: Starts a new game, or recovers the last unsaved game from its journal if {@code isRecovering}.
+     */
+    private void startGame(boolean isRecovering) {
+        try {
+            new ConsoleGame(scanner).startJournal(isRecovering).displayBoard().displayHelp().start();
+        } catch (IOException e) {
+            System.out.println("[!] Could not open the journal.");
+        } catch (RuntimeException e) {
+            System.out.println("[!] Something went wrong.");
+        }
+    }
+
     /**
      * @EFFECTS: Loads an existing game from a JSON file.
      */
@@ -82,11 +133,145 @@ public class ConsoleUI {
         }
 
         try {
-            new ConsoleGame(scanner).loadFile(input[1]).displayBoard().displayHelp().start();
+            new ConsoleGame(scanner).loadFile(input[1]).startJournal(false).displayBoard().displayHelp().start();
         } catch (IOException e) {
             System.out.println("[!] File does not exist: " + input[1]);
         } catch (RuntimeException e) {
             System.out.println("[!] Something went wrong.");
         }
     }
+
+    /**
+     * @EFFECTS: Appends all saved games to an archive.
+     */
+    private void importFiles(String[] input) {
+        if (input.length != 2) {
+            System.out.println("[!] Command did not match: import <archive>");
+            return;
+        }
+
+        try (GameArchive archive = new GameArchive(input[1])) {
+            System.out.println("[@] Imported " + archive.importFiles() + " games into: " + input[1]);
+        } catch (IOException e) {
+            System.out.println("[!] Illegal archive name: " + input[1]);
+        } catch (RuntimeException e) {
+            System.out.println("[!] Something went wrong.");
+        }
+    }
+
+    /**
+     * @EFFECTS: Saves a game from an archive to a binary file with checkpoints.
+     */
+    private void exportGame(String[] input) {
+        String[] args = input.length == 2 ? input[1].split(" ") : new String[0];
+        if (args.length != 3 || !args[1].matches("\\d+")) {
+            System.out.println("[!] Command did not match: export <archive> <id> <file>");
+            return;
+        }
+
+        try (GameArchive archive = new GameArchive(args[0])) {
+            if (Integer.parseInt(args[1]) >= archive.size()) {
+                System.out.println("[!] Game does not exist: " + args[1]);
+                return;
+            }
+            archive.export(Integer.parseInt(args[1]), args[2]);
+            System.out.println("[@] Game successfully saved as: " + args[2]);
+        } catch (IOException e) {
+            System.out.println("[!] Illegal file name: " + args[2]);
+        } catch (RuntimeException e) {
+            System.out.println("[!] Something went wrong.");
+        }
+    }
+
+    /**
+     * @EFFECTS: Checks every saved game in a directory tree for illegal moves, and prints out each bad file and the
+     * throughput.
+     */
+    private void validateFiles(String[] input) {
+        if (input.length != 2) {
+            System.out.println("[!] Command did not match: validate <directory>");
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            Map<Path, Integer> results = GameValidator.validateAll(Paths.get(input[1]));
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            results.forEach((path, result) -> {
+                if (result == GameValidator.UNREADABLE) {
+                    System.out.println("[!] Unreadable: " + path);
+                } else if (result != GameValidator.VALID) {
+                    System.out.println("[!] Illegal move at ply " + result + ": " + path);
+                }
+            });
+            System.out.printf("[@] Validated %d games in %.3f s (%.0f games/s).%n",
+                    results.size(), seconds, results.size() / Math.max(seconds, 1e-9));
+        } catch (IOException e) {
+            System.out.println("[!] Directory does not exist: " + input[1]);
+        } catch (RuntimeException e) {
+            System.out.println("[!] Something went wrong.");
+        }
+    }
+
+    /**
+     * @EFFECTS: Indexes the games of an archive that have not been indexed yet, then prints out the games that reached
+     * the position at the given ply of a saved game.
+     */
+    private void findPosition(String[] input) {
+        String[] args = input.length == 2 ? input[1].split(" ") : new String[0];
+        if (args.length != 3 || !args[2].matches("\\d+")) {
+            System.out.println("[!] Command did not match: find <archive> <file> <ply>");
+            return;
+        }
+
+        Board board;
+        try {
+            board = JsonUtils.seek(args[1], Integer.parseInt(args[2]));
+        } catch (IOException | RuntimeException e) {
+            board = null;
+        }
+        if (board == null || board.getHistory().size() != Integer.parseInt(args[2])) {
+            System.out.println("[!] Position does not exist: " + args[1] + " at ply " + args[2]);
+            return;
+        }
+
+        try (GameArchive archive = new GameArchive(args[0])) {
+            PositionIndex index = new PositionIndex(args[0]);
+            System.out.println("[@] Indexed " + index.update(archive) + " new games.");
+            printOccurrences(index.find(board));
+        } catch (IOException e) {
+            System.out.println("[!] Illegal archive name: " + args[0]);
+        } catch (RuntimeException e) {
+            System.out.println("[!] Something went wrong.");
+        }
+    }
+
+    /**
+     * @EFFECTS: Prints out the given game ids and plies, up to a limit.
+     */
+    private void printOccurrences(List<int[]> occurrences) {
+        System.out.println("[@] Occurrences of the position: " + occurrences.size());
+        for (int[] occurrence : occurrences.subList(0, Math.min(occurrences.size(), MAX_PRINTED_OCCURRENCES))) {
+            System.out.println("[@] Game " + occurrence[0] + " at ply " + occurrence[1]);
+        }
+        if (occurrences.size() > MAX_PRINTED_OCCURRENCES) {
+            System.out.println("[@] ... and " + (occurrences.size() - MAX_PRINTED_OCCURRENCES) + " more.");
+        }
+    }
+
+    /**
+     * @EFFECTS: Prints out the size and speed of each save format on all saved games.
+     */
+    private void runBenchmark() {
+        try {
+            List<Board> games = CodecBenchmark.loadGames();
+            System.out.println("[@] Benchmarking " + games.size() + " games...");
+            System.out.println(CodecBenchmark.run(games, BENCHMARK_ROUNDS));
+        } catch (IOException e) {
+            System.out.println("[!] Could not read saved games.");
+        } catch (RuntimeException e) {
+            System.out.println("[!] Something went wrong.");
+        }
+    }
 }
@@ -0,0 +1,246 @@
+package ui.gui;
+
+import model.Colour;
+import model.board.Board;
+import model.piece.Piece;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Represents a view of a board position as seen by one player, painted as a single component. The empty board is
+ * drawn once into a cached image for each square size, and only the fog, highlights and pieces are painted over it.
+ * Squares are placed with a transform from board coordinates to the screen, so flipping the board only replaces the
+ * transform. Updating the position only repaints the squares that changed. When the view is resized, the background
+ * and sprites are rasterized at the new size on the raster thread, and the images of the old size are stretched over
+ * the board until they are ready.
+ */
+public class BoardView extends JComponent {
+    static final Color[] DEFAULT_COLOURS = {new Color(0xB98761), new Color(0xEDD6B0)};
+    static final Color[] HIGHLIGHT_COLOURS = {new Color(0xDCC431), new Color(0xF7EB58)};
+    private static final ExecutorService RASTER_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "raster");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final SpriteCache spriteCache;
+    private final Piece[] pieces;
+    private Colour orientation;
+    private long visibleMask;
+    private long highlightMask;
+    private BufferedImage background;
+    private int renderedSize;
+    private boolean isRasterizing;
+
+    /**
+     * @EFFECTS: Constructs a new empty board view drawing sprites from the given cache, with the given player at the
+     * bottom.
+     */
+    public BoardView(SpriteCache spriteCache, Colour orientation) {
+        setOpaque(true);
+
+        this.spriteCache = spriteCache;
+        this.pieces = new Piece[Board.SIZE * Board.SIZE];
+        this.orientation = orientation;
+        this.visibleMask = 0L;
+        this.highlightMask = 0L;
+        this.background = null;
+        this.renderedSize = 0;
+        this.isRasterizing = false;
+    }
+
+    /**
+     * @EFFECTS: Displays the given position, of which only the squares in the visible mask are shown and the squares
+     * in the highlight mask are highlighted, and repaints the squares that changed.
+     * @MODIFIES: {@code this}
+     * @REQUIRES: {@code pieces.length == Board.SIZE * Board.SIZE}, indexed by {@code y * Board.SIZE + x} like the
+     * masks
+     */
+    public void setPosition(Piece[] pieces, long visibleMask, long highlightMask) {
+        long changedMask = (this.visibleMask ^ visibleMask) | (this.highlightMask ^ highlightMask);
+        for (int i = 0; i < pieces.length; i++) {
+            if (this.pieces[i] != pieces[i]) {
+                this.pieces[i] = pieces[i];
+                changedMask |= 1L << i;
+            }
+        }
+        this.visibleMask = visibleMask;
+        this.highlightMask = highlightMask;
+
+        for (int i = 0; i < pieces.length; i++) {
+            if ((changedMask & 1L << i) != 0) {
+                repaint(getSquareBounds(i, getSquareSize()));
+            }
+        }
+    }
+
+    /**
+     * @EFFECTS: Flips the board so that the given player is at the bottom, and repaints it.
+     * @MODIFIES: {@code this}
+     */
+    public void setOrientation(Colour orientation) {
+        if (this.orientation != orientation) {
+            this.orientation = orientation;
+            repaint();
+        }
+    }
+
+    /**
+     * @EFFECTS: Returns the index ({@code y * Board.SIZE + x}) of the square under the given point, or {@code -1} if
+     * the point is off the board.
+     */
+    public int getSquareIndex(Point point) {
+        int squareSize = getSquareSize();
+        if (squareSize <= 0) {
+            return -1;
+        }
+
+        try {
+            // Sample the middle of the pixel, which is never on the boundary between two squares.
+            Point2D boardPoint = getBoardTransform(squareSize).inverseTransform(
+                    new Point2D.Double(point.x + 0.5, point.y + 0.5), null);
+            int x = (int) Math.floor(boardPoint.getX());
+            int y = (int) Math.floor(boardPoint.getY());
+            return x < 0 || y < 0 || x >= Board.SIZE || y >= Board.SIZE ? -1 : y * Board.SIZE + x;
+        } catch (NoninvertibleTransformException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @EFFECTS: See {@code JComponent.paintComponent}.
+     * @MODIFIES: {@code this}
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        g.setColor(getBackground());
+        g.fillRect(0, 0, getWidth(), getHeight());
+        int squareSize = getSquareSize();
+        if (squareSize <= 0) {
+            return;
+        }
+
+        if (background == null) {
+            background = getBackgroundImage(squareSize);
+            renderedSize = squareSize;
+        } else if (renderedSize != squareSize) {
+            rasterizeLater(squareSize);
+        }
+
+        Rectangle boardBounds = getSquareBounds(0, squareSize).union(getSquareBounds(pieces.length - 1, squareSize));
+        g.drawImage(background, boardBounds.x, boardBounds.y, boardBounds.width, boardBounds.height, null);
+        Rectangle clip = g.getClipBounds();
+        for (int i = 0; i < pieces.length; i++) {
+            Rectangle bounds = getSquareBounds(i, squareSize);
+            if (clip == null || clip.intersects(bounds)) {
+                paintSquare(g, i, bounds);
+            }
+        }
+    }
+
+    /**
+     * @EFFECTS: Paints the fog, highlight and piece of the square with the given index over the background.
+     */
+    private void paintSquare(Graphics g, int index, Rectangle bounds) {
+        if ((visibleMask & 1L << index) == 0) {
+            g.setColor(getBackground());
+            g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+            return;
+        }
+
+        if ((highlightMask & 1L << index) != 0) {
+            g.setColor(HIGHLIGHT_COLOURS[(index % Board.SIZE + index / Board.SIZE) % HIGHLIGHT_COLOURS.length]);
+            g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        }
+        if (pieces[index] != null) {
+            // The sprite is drawn from the last rasterized size, which only stretches it while the view is resized.
+            g.drawImage(spriteCache.getSprite(pieces[index], renderedSize, renderedSize),
+                    bounds.x, bounds.y, bounds.width, bounds.height, null);
+        }
+    }
+
+    /**
+     * @EFFECTS: Rasterizes the background and the sprites of the displayed pieces at the given square size on the
+     * raster thread, then repaints the view with them. Only one size is rasterized at a time, and a size that is out
+     * of date by the time the last one is done is skipped in favour of the current one.
+     * @MODIFIES: {@code this}
+     */
+    private void rasterizeLater(int squareSize) {
+        if (isRasterizing) {
+            return;
+        }
+
+        isRasterizing = true;
+        Piece[] displayedPieces = pieces.clone();
+        RASTER_EXECUTOR.execute(() -> {
+            BufferedImage newBackground = getBackgroundImage(squareSize);
+            for (Piece piece : displayedPieces) {
+                if (piece != null) {
+                    spriteCache.getSprite(piece, squareSize, squareSize);
+                }
+            }
+
+            SwingUtilities.invokeLater(() -> {
+                background = newBackground;
+                renderedSize = squareSize;
+                isRasterizing = false;
+                repaint();
+            });
+        });
+    }
+
+    /**
+     * @EFFECTS: Returns a new image of the empty board for the given square size. The colours of the squares are
+     * symmetric, so the image is the same for either orientation.
+     */
+    private static BufferedImage getBackgroundImage(int squareSize) {
+        BufferedImage image = new BufferedImage(squareSize * Board.SIZE, squareSize * Board.SIZE,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics g = image.getGraphics();
+        for (int i = 0; i < Board.SIZE * Board.SIZE; i++) {
+            // The image is indexed by row and column on screen, where the top left square is a light one.
+            g.setColor(DEFAULT_COLOURS[(i % Board.SIZE + i / Board.SIZE + 1) % DEFAULT_COLOURS.length]);
+            g.fillRect(i % Board.SIZE * squareSize, i / Board.SIZE * squareSize, squareSize, squareSize);
+        }
+        g.dispose();
+        return image;
+    }
+
+    /**
+     * @EFFECTS: Returns the bounds on screen of the square with the given index.
+     */
+    private Rectangle getSquareBounds(int index, int squareSize) {
+        Point2D centre = getBoardTransform(squareSize).transform(
+                new Point2D.Double(index % Board.SIZE + 0.5, index / Board.SIZE + 0.5), null);
+        return new Rectangle((int) Math.round(centre.getX() - squareSize / 2.0),
+                (int) Math.round(centre.getY() - squareSize / 2.0), squareSize, squareSize);
+    }
+
+    /**
+     * @EFFECTS: Returns the transform from board coordinates, where the square at ({@code x}, {@code y}) spans one
+     * unit from that point, to the screen, with the board centred in the view. The ranks go up the screen for white
+     * and the files go left for black.
+     */
+    private AffineTransform getBoardTransform(int squareSize) {
+        int boardSize = squareSize * Board.SIZE;
+        int left = (getWidth() - boardSize) / 2;
+        int top = (getHeight() - boardSize) / 2;
+        return orientation.getDirection() > 0
+                ? new AffineTransform(squareSize, 0, 0, -squareSize, left, top + boardSize)
+                : new AffineTransform(-squareSize, 0, 0, squareSize, left + boardSize, top);
+    }
+
+    /**
+     * @EFFECTS: Returns the side length of a square, which fits the whole board in the view.
+     */
+    private int getSquareSize() {
+        return Math.min(getWidth(), getHeight()) / Board.SIZE;
+    }
+}
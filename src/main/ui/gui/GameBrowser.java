@@ -0,0 +1,195 @@
+package ui.gui;
+
+import persistence.GameCatalog;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.text.DateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Represents a dialog listing the saved games with their metadata, from which one can be chosen to load.
+ */
+public class GameBrowser extends JDialog {
+    private static final String[] COLUMNS = {"Game", "Moves", "Result", "Last Modified", "Opening"};
+    private static final Class<?>[] COLUMN_CLASSES = {String.class, Integer.class, String.class, Date.class,
+            String.class};
+    private static final String[] RESULTS = {"*", "1-0", "0-1"};
+    private static final int[] SIZE = {640, 360};
+
+    private final DefaultTableModel tableModel;
+    private final JTable table;
+    private final JLabel statusLabel;
+    private String selectedFileName;
+
+    /**
+     * @EFFECTS: Constructs a new game browser with the given title over the given frame, and starts listing the games
+     * of the given catalog in the background.
+     */
+    private GameBrowser(JFrame owner, GameCatalog catalog, String title) {
+        super(owner, title, true);
+        this.tableModel = new DefaultTableModel(COLUMNS, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return COLUMN_CLASSES[column];
+            }
+        };
+        this.table = new JTable(tableModel);
+        this.statusLabel = new JLabel("Scanning saved games...");
+        this.selectedFileName = null;
+
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.setAutoCreateRowSorter(true);
+        table.setDefaultRenderer(String.class, new CellRenderer(SwingConstants.LEADING));
+        table.setDefaultRenderer(Integer.class, new CellRenderer(SwingConstants.TRAILING));
+        table.setDefaultRenderer(Date.class, new CellRenderer(SwingConstants.LEADING));
+        table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    chooseSelection();
+                }
+            }
+        });
+
+        addComponents();
+        new ScanTask(catalog).execute();
+    }
+
+    /**
+     * @EFFECTS: Displays a game browser with the given title over the given frame until it is closed, and returns the
+     * name of the chosen game, or {@code null} if none was chosen.
+     */
+    public static String showDialog(JFrame owner, GameCatalog catalog, String title) {
+        GameBrowser gameBrowser = new GameBrowser(owner, catalog, title);
+        gameBrowser.setVisible(true);
+        return gameBrowser.selectedFileName;
+    }
+
+    /**
+     * @EFFECTS: Adds the table, status label and buttons to the dialog.
+     * @MODIFIES: {@code this}
+     */
+    private void addComponents() {
+        JButton loadButton = new JButton("Load");
+        loadButton.addActionListener(e -> chooseSelection());
+        JButton cancelButton = new JButton("Cancel");
+        cancelButton.addActionListener(e -> dispose());
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttonPanel.add(statusLabel);
+        buttonPanel.add(loadButton);
+        buttonPanel.add(cancelButton);
+
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setPreferredSize(new Dimension(SIZE[0], SIZE[1]));
+        add(scrollPane, BorderLayout.CENTER);
+        add(buttonPanel, BorderLayout.PAGE_END);
+
+        getRootPane().setDefaultButton(loadButton);
+        pack();
+        setLocationRelativeTo(getOwner());
+    }
+
+    /**
+     * @EFFECTS: Closes the dialog with the selected game as the chosen one, if any is selected.
+     * @MODIFIES: {@code this}
+     */
+    private void chooseSelection() {
+        int row = table.getSelectedRow();
+        if (row >= 0) {
+            // Read the model, since the view rows are sorted and the view columns can be dragged around.
+            selectedFileName = (String) tableModel.getValueAt(table.convertRowIndexToModel(row), 0);
+            dispose();
+        }
+    }
+
+    /**
+     * Represents scanning the catalog off the event dispatch thread, then filling the table with its entries.
+     */
+    private class ScanTask extends SwingWorker<List<GameCatalog.Entry>, Void> {
+        private final GameCatalog catalog;
+        private long start;
+
+        /**
+         * @EFFECTS: Constructs a new task scanning the given catalog.
+         */
+        public ScanTask(GameCatalog catalog) {
+            this.catalog = catalog;
+        }
+
+        /**
+         * @EFFECTS: See {@code SwingWorker.doInBackground}.
+         */
+        @Override
+        protected List<GameCatalog.Entry> doInBackground() throws Exception {
+            start = System.nanoTime();
+            return catalog.scan();
+        }
+
+        /**
+         * @EFFECTS: See {@code SwingWorker.done}. Fills the table, or reports the error in the status label.
+         * @MODIFIES: {@code GameBrowser.this}
+         */
+        @Override
+        protected void done() {
+            try {
+                List<GameCatalog.Entry> entries = get();
+                for (GameCatalog.Entry entry : entries) {
+                    // The raw values are stored so that the columns sort by them, and unreadable ones are null.
+                    boolean isReadable = entry.getPlyCount() != GameCatalog.UNREADABLE;
+                    tableModel.addRow(new Object[] {entry.getFileName(), isReadable ? entry.getPlyCount() : null,
+                            isReadable ? RESULTS[entry.getResult()] : null, new Date(entry.getLastModified()),
+                            entry.getFirstMoves()});
+                }
+                statusLabel.setText(entries.size() + " games in " + (System.nanoTime() - start) / 1000000 + " ms");
+            } catch (ExecutionException e) {
+                statusLabel.setText("Could not list saved games.");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Represents the renderer of the table cells, which formats dates in short form and shows a missing value as a
+     * question mark.
+     */
+    private static class CellRenderer extends DefaultTableCellRenderer {
+        private final DateFormat dateFormat;
+
+        /**
+         * @EFFECTS: Constructs a new cell renderer with the given horizontal alignment.
+         */
+        public CellRenderer(int alignment) {
+            this.dateFormat = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT);
+            setHorizontalAlignment(alignment);
+        }
+
+        /**
+         * @EFFECTS: See {@code DefaultTableCellRenderer.setValue}.
+         * @MODIFIES: {@code this}
+         */
+        @Override
+        protected void setValue(Object value) {
+            if (value == null) {
+                setText("?");
+            } else if (value instanceof Date) {
+                setText(dateFormat.format((Date) value));
+            } else {
+                setText(value.toString());
+            }
+        }
+    }
+}
@@ -3,20 +3,27 @@ package ui.gui;
 import model.Colour;
 import model.Move;
 import model.board.Board;
+import model.board.MoveListener;
 import model.board.Square;
-import persistence.JsonUtils;
+import model.engine.Engine;
+import model.engine.Search;
+import model.piece.Piece;
+import persistence.MoveJournal;
+import persistence.NotationCodec;
 
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ActionEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.IOException;
-import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Represents a game of chess graphically.
@@ -24,178 +31,441 @@ import java.util.Set;
 public class GamePanel extends JPanel {
     private static final String PATH = "./data/.resources/";
     private static final int[] SIZE = {800, 600};
+    private static final int ENGINE_DEPTH = 4;
+    private static final int ANALYSIS_DEPTH = 8;
+    private static final int ANALYSIS_LINE_LENGTH = 6;
+    private static final String JOURNAL_NAME = "gui";
+    private static final String OVERLAY_KEY = "F3";
+    private static final Color OVERLAY_COLOUR = new Color(0, 0, 0, 0xA0);
+    static final SpriteCache SPRITE_CACHE = new SpriteCache(PATH + "piece/");
+    private static final SoundManager SOUND_MANAGER = new SoundManager(PATH + "sound/");
 
     private final Board board;
+    private final Colour computerPlayer;
+    private final Engine engine;
+    private final ExecutorService analysisExecutor;
+    private MoveJournal journal;
+    private boolean isJournalFailureShown;
     private Colour displayedPlayer;
+    private Set<Square> visibleSquares;
+    private int visibleVersion;
+    private Colour visibleColour;
 
+    private final AnalysisPanel analysisPanel;
     private final BoardDisplayPanel boardDisplayPanel;
+    private final InfoDisplayPanel infoDisplayPanel;
 
     /**
-     * @EFFECTS: Constructs a new game panel.
+     * @EFFECTS: Constructs a new game panel for two local players.
      */
     public GamePanel() {
-        setLayout(new FlowLayout(FlowLayout.CENTER, 0, 0));
+        this(null);
+    }
+
+    /**
+     * @EFFECTS: Constructs a new game panel against the computer playing the given colour, or for two local players
+     * if {@code null}.
+     */
+    public GamePanel(Colour computerPlayer) {
+        this(new Board(), computerPlayer);
+    }
 
-        this.board = new Board();
+    /**
+     * @EFFECTS: Constructs a new game panel continuing the given game, against the computer playing the given colour
+     * or for two local players if {@code null}.
+     */
+    public GamePanel(Board board, Colour computerPlayer) {
+        setLayout(new BorderLayout());
+
+        this.board = board;
+        this.computerPlayer = computerPlayer;
+        this.engine = computerPlayer == null ? null : new Engine(ENGINE_DEPTH);
+        this.analysisExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "analysis");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.isJournalFailureShown = false;
         this.displayedPlayer = board.getCurrentPlayer();
+        this.visibleSquares = null;
+        this.visibleVersion = -1;
+        this.visibleColour = null;
 
+        this.analysisPanel = new AnalysisPanel();
         this.boardDisplayPanel = new BoardDisplayPanel();
-        add(boardDisplayPanel);
-        add(new InfoDisplayPanel());
+        this.infoDisplayPanel = new InfoDisplayPanel();
+        add(boardDisplayPanel, BorderLayout.CENTER);
+        add(infoDisplayPanel, BorderLayout.LINE_END);
+        addOverlayKeyBinding();
+        requestComputerMove();
     }
 
     /**
-     * @EFFECTS: Saves the game to a JSON file.
-     * @MODIFIES: ./data/{@code fileName}.cpsc
+     * @EFFECTS: Starts decoding the piece sprites (and scaling them to the default square size) and the sound effects
+     * in parallel on the given executor, and returns a future that completes once they are ready.
      */
-    public void saveFile(String fileName) throws IOException {
-        JsonUtils.save(fileName, board.getHistory());
+    static CompletableFuture<Void> preloadResources(Executor executor) {
+        return CompletableFuture.allOf(SPRITE_CACHE.preload(executor, SIZE[1] / Board.SIZE),
+                SOUND_MANAGER.preload(executor));
     }
 
     /**
-     * @EFFECTS: Loads an existing game from a JSON file.
-     * @MODIFIES: {@code this}
+     * @EFFECTS: Stops the computer player (if any), the analysis and the journal. Call before discarding the panel.
+     */
+    public void close() {
+        board.removeMoveListener(infoDisplayPanel);
+        boardDisplayPanel.hideOverlay();
+        analysisPanel.cancel();
+        analysisExecutor.shutdownNow();
+        if (engine != null) {
+            engine.shutdown();
+        }
+
+        try {
+            if (journal != null) {
+                journal.close();
+            }
+        } catch (IOException e) { /* The journal is only a safety net. */ }
+    }
+
+    /**
+     * @EFFECTS: Returns a new game panel continuing the last journaled game against the same opponent, or a new game
+     * panel for two local players if that game was over.
+     * @MODIFIES: ./data/gui.cpsj
      */
-    public void loadFile(String fileName) throws IOException {
-        for (Move move : JsonUtils.load(fileName, board)) {
-            board.doMove(move);
+    public static GamePanel recoverJournal() throws IOException {
+        Board board = new Board();
+        int tag;
+        try (MoveJournal journal = new MoveJournal(JOURNAL_NAME)) {
+            journal.recover(board);
+            tag = journal.getTag();
+        }
+
+        if (board.isGameOver()) {
+            return new GamePanel();
         }
-        boardDisplayPanel.nextOrientation();
+        // The tag is 0 for two local players, or one more than the ordinal of the computer player.
+        return new GamePanel(board, tag > 0 && tag <= Colour.values().length ? Colour.values()[tag - 1] : null);
+    }
+
+    /**
+     * @EFFECTS: Starts recording every move and the opponent in a journal so that the game survives a crash, replacing
+     * the last journaled game.
+     * @MODIFIES: {@code this}, ./data/gui.cpsj
+     */
+    public void startJournal() throws IOException {
+        journal = new MoveJournal(JOURNAL_NAME);
+        journal.reset(board.getHistory(), computerPlayer == null ? 0 : computerPlayer.ordinal() + 1);
+        board.addMoveListener(journal);
+    }
+
+    /**
+     * @EFFECTS: Returns a copy of the moves played so far, which is safe to save from another thread.
+     */
+    public List<Move> getHistory() {
+        return new ArrayList<>(board.getHistory());
     }
 
     /**
      * @EFFECTS: Returns a PGN-like string representation of the current game.
      */
     public String getDisplayString() {
-        List<Move> history = board.getHistory();
         StringBuilder stringBuilder = new StringBuilder();
+        try {
+            NotationCodec.write(stringBuilder, board.getHistory());
+        } catch (IOException e) { /* StringBuilder never throws. */ }
+        return stringBuilder.toString();
+    }
 
-        for (int i = 0; i < history.size(); i++) {
-            if (i % Colour.values().length == 0) {
-                stringBuilder.append(i / Colour.values().length + 1).append(". ");
+    /**
+     * @EFFECTS: Binds the overlay key to showing or hiding the instrumentation overlay while the window is focused.
+     * @MODIFIES: {@code this}
+     */
+    private void addOverlayKeyBinding() {
+        getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(OVERLAY_KEY), OVERLAY_KEY);
+        getActionMap().put(OVERLAY_KEY, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                boardDisplayPanel.toggleOverlay();
             }
-            stringBuilder.append(getMoveDisplayString(history.get(i)));
+        });
+    }
 
-            // Add random brilliant moves and blunders. Just for fun.
-            if (Math.random() < 0.1) {
-                stringBuilder.append(Math.random() < 0.5 ? "!!" : "??");
-            }
-            stringBuilder.append(" ");
+    /**
+     * @EFFECTS: Returns the colour of the human player to display, which is the current player unless it is the turn
+     * of the computer player.
+     */
+    private Colour getHumanPlayer() {
+        if (board.getCurrentPlayer() != computerPlayer) {
+            return board.getCurrentPlayer();
         }
-        return stringBuilder.toString();
+        return Colour.values()[(computerPlayer.ordinal() + 1) % Colour.values().length];
     }
 
     /**
-     * @EFFECTS: Returns a PGN-like string representation of the given move.
-     * @REQUIRES: after {@code Board.doMove(move)}
+     * @EFFECTS: Returns the set of all squares visible to the displayed player, which is only recomputed after a move
+     * or a change of the displayed player.
+     * @MODIFIES: {@code this}
      */
-    private String getMoveDisplayString(Move move) {
-        // Irregular notation for castling.
-        if (move.getFlag(Move.CASTLE)) {
-            return move.getEnd().getX() > move.getStart().getX() ? "O-O" : "O-O-O";
+    private Set<Square> getVisibleSquares() {
+        if (visibleVersion != board.getHistory().size() || visibleColour != displayedPlayer) {
+            long start = System.nanoTime();
+            visibleSquares = board.getVisibleSquares(displayedPlayer);
+            Instrumentation.record(Instrumentation.VISIBILITY, start);
+            visibleVersion = board.getHistory().size();
+            visibleColour = displayedPlayer;
         }
+        return visibleSquares;
+    }
 
-        // It's really quite simple.
-        return move.getMovedPiece().getPrefix()
-                + (move.getStart().getX() != move.getEnd().getX() ? (char) (move.getStart().getX() + 'a') : "")
-                + (move.getFlag(Move.CAPTURE) ? "x" : "") + (char) (move.getEnd().getX() + 'a')
-                + (char) (move.getEnd().getY() + '1') + (move.getFlag(Move.PROMOTE) ? "=Q" : "");
+    /**
+     * @EFFECTS: Returns {@code move.isValid(board)}, recording how long it took.
+     * @REQUIRES: before {@code board.doMove(move)}
+     */
+    private boolean isValidMove(Move move) {
+        long start = System.nanoTime();
+        boolean isValid = move.isValid(board);
+        Instrumentation.record(Instrumentation.IS_VALID, start);
+        return isValid;
+    }
+
+    /**
+     * @EFFECTS: Asks the computer player for its reply if it is its turn, without blocking the event dispatch thread.
+     */
+    private void requestComputerMove() {
+        if (engine != null && board.getCurrentPlayer() == computerPlayer && !board.isGameOver()) {
+            engine.getReply(board).thenAccept(move -> SwingUtilities.invokeLater(() -> doComputerMove(move)));
+        }
+    }
+
+    /**
+     * @EFFECTS: Plays the given reply of the computer player, then lets it ponder during the human's turn.
+     * @MODIFIES: {@code this}
+     */
+    private void doComputerMove(Move move) {
+        if (move == null || board.isGameOver() || board.getCurrentPlayer() != computerPlayer) {
+            return;
+        }
+
+        board.doMove(move);
+        checkJournal();
+        boardDisplayPanel.playMoveSoundResource(move);
+        engine.ponder(board);
+        analysisPanel.restart();
+        boardDisplayPanel.updateSquares(move);
+        infoDisplayPanel.repaint();
     }
 
     /**
-     * @EFFECTS: Returns an image icon of the sprite at the given path with the given dimensions.
+     * @EFFECTS: Warns the user the first time the journal fails to write a move, since the game will no longer survive
+     * a crash.
+     * @MODIFIES: {@code this}
      */
-    private static Icon getIconResource(String fileName, int width, int height) {
-        ImageIcon icon = new ImageIcon(Paths.get(PATH + fileName + ".png").toString());
-        return new ImageIcon(icon.getImage().getScaledInstance(width, height, Image.SCALE_SMOOTH));
+    private void checkJournal() {
+        if (journal != null && journal.isFailed() && !isJournalFailureShown) {
+            isJournalFailureShown = true;
+            JOptionPane.showMessageDialog(this, "Could not write the journal. This game will not be recovered.", null,
+                    JOptionPane.WARNING_MESSAGE);
+        }
     }
 
     /**
-     * @EFFECTS: Loads and plays the sound effect at the given path.
+     * @EFFECTS: Plays the sound effect with the given name without waiting for it.
      */
     private static void playSoundResource(String fileName) {
-        try {
-            Clip clip = AudioSystem.getClip();
-            clip.open(AudioSystem.getAudioInputStream(Paths.get(PATH + "sound/" + fileName + ".wav")
-                    .toUri().toURL()));
-            clip.start();
-        } catch (Exception e) { /* Whatever, man. */ }
+        SOUND_MANAGER.play(fileName);
     }
 
     /**
-     * Represents the board graphically.
+     * Represents the board graphically, keeping the displayed pieces in step with the board one move at a time. It also
+     * times its own painting, and can show the rolling timings of the hot paths over the board.
      */
-    private class BoardDisplayPanel extends JPanel {
-        private final SquarePanel[] squarePanels;
-        private SquarePanel selection;
+    private class BoardDisplayPanel extends BoardView {
+        private static final int OVERLAY_DELAY = 500;
+        private static final int OVERLAY_LOG_TICKS = 10;
+        private static final int OVERLAY_MARGIN = 8;
+
+        private final Piece[] pieces;
+        private final Timer overlayTimer;
+        private int selection;
+        private int overlayTicks;
 
         /**
          * @EFFECTS: Constructs a new board display panel with the given params.
          */
         public BoardDisplayPanel() {
-            setLayout(new GridLayout(Board.SIZE, Board.SIZE));
+            super(SPRITE_CACHE, displayedPlayer);
             setPreferredSize(new Dimension(GamePanel.SIZE[1], GamePanel.SIZE[1]));
 
-            this.squarePanels = getSquarePanels();
-            this.selection = null;
-
+            this.pieces = new Piece[Board.SIZE * Board.SIZE];
+            this.overlayTimer = new Timer(OVERLAY_DELAY, e -> refreshOverlay());
+            this.selection = -1;
+            this.overlayTicks = 0;
+
+            addMouseListener(new MouseAdapter() {
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    int index = getSquareIndex(e.getPoint());
+                    if (index >= 0) {
+                        validateMove(index);
+                    }
+                }
+            });
             nextOrientation();
             playSoundResource("new-game");
         }
 
         /**
-         * @EFFECTS: See {@code JComponent.paintComponent}.
+         * @EFFECTS: See {@code JComponent.paintComponent}. Records the time taken to paint the board, then paints the
+         * overlay (if shown) on top.
          * @MODIFIES: {@code this}
          */
         @Override
         protected void paintComponent(Graphics g) {
-            // Determine and set the visibility of each square on the board.
-            Set<Square> visibleSquares = board.getVisibleSquares(displayedPlayer);
-            for (SquarePanel squarePanel : squarePanels) {
-                squarePanel.setVisible(visibleSquares.contains(squarePanel.getSquare()));
-            }
+            long start = System.nanoTime();
             super.paintComponent(g);
+            Instrumentation.record(Instrumentation.PAINT, start);
+
+            if (overlayTimer.isRunning()) {
+                paintOverlay(g);
+            }
         }
 
         /**
-         * @EFFECTS: Reorders the square panels to flip the board for the current player.
+         * @EFFECTS: Shows the instrumentation overlay, which is refreshed and logged to the console periodically, or
+         * hides it if it is shown.
          * @MODIFIES: {@code this}
          */
-        public void nextOrientation() {
-            displayedPlayer = board.getCurrentPlayer();
-            removeAll();
+        public void toggleOverlay() {
+            if (overlayTimer.isRunning()) {
+                hideOverlay();
+            } else {
+                overlayTimer.start();
+                refreshOverlay();
+            }
+        }
 
-            for (int i = displayedPlayer.getDirection() < 0 ? 0 : squarePanels.length - 1;
-                    i > -1 && i < squarePanels.length; i -= displayedPlayer.getDirection()) {
-                squarePanels[i].setHighlighted(false);
-                add(squarePanels[i]);
+        /**
+         * @EFFECTS: Hides the instrumentation overlay, if shown.
+         * @MODIFIES: {@code this}
+         */
+        public void hideOverlay() {
+            overlayTimer.stop();
+            repaint();
+        }
+
+        /**
+         * @EFFECTS: Updates the instrumentation overlay, and logs the timings every few updates.
+         * @MODIFIES: {@code this}
+         */
+        private void refreshOverlay() {
+            List<String> report = Instrumentation.getReport();
+            repaint(getOverlayBounds(report, getFontMetrics(getFont())));
+
+            overlayTicks++;
+            if (overlayTicks % OVERLAY_LOG_TICKS == 0) {
+                for (String line : report) {
+                    System.out.println("[@] " + line);
+                }
             }
-            revalidate();
+        }
+
+        /**
+         * @EFFECTS: Paints the latest timings of the hot paths in a translucent box over the board.
+         */
+        private void paintOverlay(Graphics g) {
+            List<String> report = Instrumentation.getReport();
+            FontMetrics metrics = g.getFontMetrics();
+            Rectangle bounds = getOverlayBounds(report, metrics);
+            g.setColor(OVERLAY_COLOUR);
+            g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+
+            g.setColor(Color.WHITE);
+            for (int i = 0; i < report.size(); i++) {
+                g.drawString(report.get(i), bounds.x + OVERLAY_MARGIN,
+                        bounds.y + OVERLAY_MARGIN + metrics.getAscent() + i * metrics.getHeight());
+            }
+        }
+
+        /**
+         * @EFFECTS: Returns the bounds of the overlay showing the given report in the top left corner.
+         */
+        private Rectangle getOverlayBounds(List<String> report, FontMetrics metrics) {
+            int width = 0;
+            for (String line : report) {
+                width = Math.max(width, metrics.stringWidth(line));
+            }
+            return new Rectangle(OVERLAY_MARGIN, OVERLAY_MARGIN, width + 2 * OVERLAY_MARGIN,
+                    report.size() * metrics.getHeight() + 2 * OVERLAY_MARGIN);
+        }
+
+        /**
+         * @EFFECTS: Updates only the squares changed by the given move, and repaints them along with the squares whose
+         * visibility to the displayed player has changed.
+         * @MODIFIES: {@code this}
+         * @REQUIRES: after {@code board.doMove(move)}
+         */
+        public void updateSquares(Move move) {
+            for (Square square : board.getChangedSquares(move)) {
+                pieces[square.getY() * Board.SIZE + square.getX()] = square.getPiece();
+            }
+            updatePosition();
+        }
+
+        /**
+         * @EFFECTS: Flips the board for the current player, and reads every piece from the board again in case moves
+         * were played without being displayed.
+         * @MODIFIES: {@code this}
+         */
+        public void nextOrientation() {
+            displayedPlayer = getHumanPlayer();
+            analysisPanel.restart();
+            selection = -1;
+            for (int i = 0; i < pieces.length; i++) {
+                pieces[i] = board.getSquare(i % Board.SIZE, i / Board.SIZE).getPiece();
+            }
+
+            setOrientation(displayedPlayer);
+            updatePosition();
+        }
+
+        /**
+         * @EFFECTS: Displays the pieces and the selection, with the squares that the displayed player cannot see
+         * hidden.
+         * @MODIFIES: {@code this}
+         */
+        private void updatePosition() {
+            setPosition(pieces, Board.getMask(getVisibleSquares()), selection < 0 ? 0L : 1L << selection);
         }
 
         /**
          * @EFFECTS: Ensures that the user input for a move is valid and updates the game.
          * @MODIFIES: {@code this}
          */
-        private void validateMove(SquarePanel panel) {
+        private void validateMove(int index) {
             if (board.isGameOver() || board.getCurrentPlayer() != displayedPlayer) {
                 return;
             }
 
-            if (selection == null) {
-                panel.setHighlighted(true);
-                selection = panel;
+            if (selection < 0) {
+                selection = index;
             } else {
-                Move move = new Move(selection.getSquare(), panel.getSquare());
+                Move move = new Move(board.getSquare(selection % Board.SIZE, selection / Board.SIZE),
+                        board.getSquare(index % Board.SIZE, index / Board.SIZE));
+                selection = -1;
                 if (move.getStart().hasPiece() && move.getStart().getPiece().getColour() == board.getCurrentPlayer()
-                        && move.isValid(board)) {
+                        && isValidMove(move)) {
                     displayedPlayer = board.getCurrentPlayer();
                     board.doMove(move);
+                    checkJournal();
+                    analysisPanel.cancel();
                     playMoveSoundResource(move);
+                    updateSquares(move);
+                    infoDisplayPanel.repaint();
+                    requestComputerMove();
                 }
-                selection.setHighlighted(false);
-                selection = null;
             }
+            updatePosition();
         }
 
         /**
@@ -205,46 +475,36 @@ public class GamePanel extends JPanel {
             playSoundResource(board.isGameOver() ? "game-end" : move.getFlag(Move.PROMOTE) ? "promote"
                     : move.getFlag(Move.CASTLE) ? "castle" : move.getFlag(Move.CAPTURE) ? "capture" : "move");
         }
-
-        /**
-         * @EFFECTS: Returns an array with a square panel representing each square on the board.
-         */
-        private SquarePanel[] getSquarePanels() {
-            SquarePanel[] squarePanels = new SquarePanel[Board.SIZE * Board.SIZE];
-
-            // Create a square panel for every square on the board.
-            for (int i = 0; i < squarePanels.length; i++) {
-                squarePanels[i] = new SquarePanel(board.getSquare(Board.SIZE - i % Board.SIZE - 1, i / Board.SIZE));
-                squarePanels[i].addMouseListener(new MouseAdapter() {
-                    @Override
-                    public void mousePressed(MouseEvent e) {
-                        validateMove((SquarePanel) e.getComponent());
-                        getParent().repaint();
-                    }
-                });
-            }
-            return squarePanels;
-        }
     }
 
     /**
-     * Represents game information graphically.
+     * Represents game information graphically. The move history of each player is kept in its own list model, which
+     * only grows by the newest move, and the list only renders the rows that are in view.
      */
-    private class InfoDisplayPanel extends JPanel {
-        private final JTextArea historyTextArea;
+    private class InfoDisplayPanel extends JPanel implements MoveListener {
+        private static final String PROTOTYPE_MOVE_STRING = "000. Qa1xh8=Q";
+
+        private final List<DefaultListModel<String>> historyModels;
+        private final JList<String> historyList;
+        private final Board notationBoard;
         private final JButton continueButton;
 
         /**
-         * @EFFECTS: Constructs a new info display panel.
+         * @EFFECTS: Constructs a new info display panel listening for new moves.
+         * @MODIFIES: {@code board}
          */
         public InfoDisplayPanel() {
             setLayout(new GridBagLayout());
             setPreferredSize(new Dimension(SIZE[0] - SIZE[1], SIZE[1]));
 
-            this.historyTextArea = new JTextArea(1, 1);
+            this.historyModels = new ArrayList<>();
+            this.historyList = new JList<>();
+            this.notationBoard = new Board(board);
             this.continueButton = new JButton("Continue");
+            addHistory();
             addNewMessagePanel();
             addComponents();
+            board.addMoveListener(this);
         }
 
         /**
@@ -253,22 +513,64 @@ public class GamePanel extends JPanel {
          */
         @Override
         protected void paintComponent(Graphics g) {
-            List<Move> history = board.getHistory();
-            historyTextArea.setText(null);
-
             // Disable the continue button if the current player has not moved yet.
             continueButton.setEnabled(board.getCurrentPlayer() != displayedPlayer);
 
-            // Set the text to match the current move history.
-            for (int i = 0; i < history.size(); i++) {
-                if (history.get(i).getMovedPiece().getColour() == displayedPlayer) {
-                    historyTextArea.append((i / Colour.values().length + 1) + ". "
-                            + getMoveDisplayString(history.get(i)) + "\n");
-                }
+            // Show the move history of the displayed player only.
+            DefaultListModel<String> historyModel = historyModels.get(displayedPlayer.ordinal());
+            if (historyList.getModel() != historyModel) {
+                historyList.setModel(historyModel);
+                historyList.ensureIndexIsVisible(historyModel.size() - 1);
             }
             super.paintComponent(g);
         }
 
+        /**
+         * @EFFECTS: Appends the notation of the given move to the history of the player who made it.
+         * @MODIFIES: {@code this}
+         */
+        @Override
+        public void moveDone(Move move) {
+            Move notationMove = new Move(notationBoard.getSquare(move.getStart().getX(), move.getStart().getY()),
+                    notationBoard.getSquare(move.getEnd().getX(), move.getEnd().getY()));
+            StringBuilder stringBuilder = new StringBuilder();
+            try {
+                NotationCodec.appendMove(stringBuilder, notationBoard, notationMove);
+            } catch (IOException e) { /* StringBuilder never throws. */ }
+
+            notationBoard.doMove(notationMove);
+            addMoveString(notationBoard.getHistory().size() - 1, stringBuilder.toString());
+        }
+
+        /**
+         * @EFFECTS: Creates the history list models, filled with the moves played so far.
+         * @MODIFIES: {@code this}
+         */
+        private void addHistory() {
+            for (int i = 0; i < Colour.values().length; i++) {
+                historyModels.add(new DefaultListModel<>());
+            }
+
+            List<String> moveStrings = NotationCodec.toStrings(board.getHistory());
+            for (int i = 0; i < moveStrings.size(); i++) {
+                addMoveString(i, moveStrings.get(i));
+            }
+        }
+
+        /**
+         * @EFFECTS: Appends the given move notation to the history of the player who made the move at the given ply,
+         * and scrolls to it if that history is shown.
+         * @MODIFIES: {@code this}
+         */
+        private void addMoveString(int ply, String moveString) {
+            DefaultListModel<String> historyModel = historyModels.get(ply % historyModels.size());
+            historyModel.addElement((ply / Colour.values().length + 1) + ". " + moveString);
+
+            if (historyList.getModel() == historyModel) {
+                historyList.ensureIndexIsVisible(historyModel.size() - 1);
+            }
+        }
+
         /**
          * @EFFECTS: Creates and adds a new panel for locally sending chat messages.
          * @MODIFIES: {@code this}
@@ -299,15 +601,16 @@ public class GamePanel extends JPanel {
          * @MODIFIES: {@code this}
          */
         private void addComponents() {
-            historyTextArea.setEditable(false);
-            historyTextArea.setLineWrap(true);
-            historyTextArea.setWrapStyleWord(true);
+            historyList.setPrototypeCellValue(PROTOTYPE_MOVE_STRING);
+            historyList.setFocusable(false);
 
             continueButton.setIcon(UIManager.getIcon("PasswordField.revealIcon"));
             continueButton.addActionListener(e -> delay());
+            continueButton.setVisible(computerPlayer == null);
 
-            add(new JScrollPane(historyTextArea), getConstraints(0, 0.5));
-            add(continueButton, getConstraints(2, 0.1));
+            add(new JScrollPane(historyList), getConstraints(0, 0.5));
+            add(analysisPanel, getConstraints(2, 0.2));
+            add(continueButton, getConstraints(3, 0.1));
         }
 
         /**
@@ -347,68 +650,106 @@ public class GamePanel extends JPanel {
     }
 
     /**
-     * Represents a square on the board graphically.
+     * Represents the analysis of the current position graphically. The search runs on the analysis thread, and each
+     * completed depth is passed back to the event dispatch thread.
      */
-    private static class SquarePanel extends JPanel {
-        private static final Color[] DEFAULT_COLOURS = {new Color(0xB98761), new Color(0xEDD6B0)};
-        private static final Color[] HIGHLIGHT_COLOURS = {new Color(0xDCC431), new Color(0xF7EB58)};
-
-        private final Square square;
-        private final Color[] colours;
-        private boolean isHighlighted;
-
-        private final JLabel iconLabel;
+    private class AnalysisPanel extends JPanel {
+        private final JTextArea analysisTextArea;
+        private final JToggleButton hintButton;
+        private Search search;
 
         /**
-         * @EFFECTS: Constructs a new square panel.
+         * @EFFECTS: Constructs a new analysis panel.
          */
-        public SquarePanel(Square square) {
+        public AnalysisPanel() {
             setLayout(new BorderLayout());
-            setPreferredSize(new Dimension(SIZE[1] / Board.SIZE, SIZE[1] / Board.SIZE));
 
-            this.square = square;
-            this.colours = getBackgroundColours();
-            this.isHighlighted = false;
+            this.analysisTextArea = new JTextArea(1, 1);
+            this.hintButton = new JToggleButton("Hint");
+            this.search = null;
+
+            analysisTextArea.setEditable(false);
+            analysisTextArea.setLineWrap(true);
+            analysisTextArea.setWrapStyleWord(true);
+            hintButton.addActionListener(e -> restart());
 
-            this.iconLabel = new JLabel();
-            add(iconLabel, BorderLayout.CENTER);
+            add(new JScrollPane(analysisTextArea), BorderLayout.CENTER);
+            add(hintButton, BorderLayout.PAGE_END);
         }
 
         /**
-         * @EFFECTS: See {@code JComponent.paintComponent}.
+         * @EFFECTS: Cancels any running analysis and starts a new one if hints are enabled and the displayed player is
+         * to move.
          * @MODIFIES: {@code this}
          */
-        @Override
-        protected void paintComponent(Graphics g) {
-            // Set the background colour and icon to match the current square.
-            setBackground(isHighlighted ? colours[1] : colours[0]);
-            iconLabel.setIcon(square.hasPiece() ? getSquareIconResource(square) : null);
-
-            super.paintComponent(g);
+        public void restart() {
+            cancel();
+            if (hintButton.isSelected() && !board.isGameOver() && board.getCurrentPlayer() == displayedPlayer) {
+                Board knownBoard = getKnownBoard();
+                Search newSearch = new Search(ANALYSIS_DEPTH);
+                search = newSearch;
+                analysisExecutor.execute(() -> newSearch.getBestMove(knownBoard, s -> publish(s, knownBoard)));
+            }
         }
 
-        public Square getSquare() {
-            return square;
+        /**
+         * @EFFECTS: Stops any running analysis and clears the displayed result.
+         * @MODIFIES: {@code this}
+         */
+        public void cancel() {
+            if (search != null) {
+                search.stop();
+                search = null;
+            }
+            analysisTextArea.setText(null);
         }
 
-        public void setHighlighted(boolean to) {
-            isHighlighted = to;
+        /**
+         * @EFFECTS: Returns a copy of the board without the opponent pieces that the displayed player cannot see.
+         */
+        private Board getKnownBoard() {
+            Board knownBoard = new Board(board);
+            Set<Square> visibleSquares = getVisibleSquares();
+
+            for (int i = 0; i < Board.SIZE * Board.SIZE; i++) {
+                Square square = board.getSquare(i % Board.SIZE, i / Board.SIZE);
+                if (!visibleSquares.contains(square)) {
+                    knownBoard.getSquare(square.getX(), square.getY()).setPiece(null);
+                }
+            }
+            return knownBoard;
         }
 
         /**
-         * @EFFECTS: Returns an array of the default and highlighted background colours.
+         * @EFFECTS: Formats the latest result of the given search and displays it, unless it has been cancelled.
+         * @REQUIRES: called on the analysis thread
          */
-        private Color[] getBackgroundColours() {
-            return new Color[]{DEFAULT_COLOURS[(square.getX() + square.getY()) % DEFAULT_COLOURS.length],
-                    HIGHLIGHT_COLOURS[(square.getX() + square.getY()) % HIGHLIGHT_COLOURS.length]};
+        private void publish(Search result, Board knownBoard) {
+            String text = "Depth " + result.getCompletedDepth() + " ("
+                    + (Math.abs(result.getScore()) >= Search.MATE ? (result.getScore() > 0 ? "+K" : "-K")
+                    : String.format("%+.2f", result.getScore() / 100.0)) + ")\n"
+                    + getLineDisplayString(result.getPrincipalVariation(knownBoard, ANALYSIS_LINE_LENGTH));
+
+            SwingUtilities.invokeLater(() -> {
+                if (search == result) {
+                    analysisTextArea.setText(text);
+                }
+            });
         }
 
         /**
-         * @EFFECTS: Returns an image icon matching the given square.
+         * @EFFECTS: Returns a string representation of the given line of unplayed moves.
          */
-        private Icon getSquareIconResource(Square square) {
-            return getIconResource("piece/" + (square.getPiece().getColour() + "/"
-                    + square.getPiece().getClass().getSimpleName()).toLowerCase(Locale.ROOT), getWidth(), getHeight());
+        private String getLineDisplayString(List<Move> line) {
+            StringBuilder stringBuilder = new StringBuilder();
+
+            for (Move move : line) {
+                stringBuilder.append(move.getStart().getPiece().getPrefix())
+                        .append((char) (move.getStart().getX() + 'a')).append(move.getStart().getY() + 1)
+                        .append(move.getEnd().hasPiece() ? "x" : "-")
+                        .append((char) (move.getEnd().getX() + 'a')).append(move.getEnd().getY() + 1).append(" ");
+            }
+            return stringBuilder.toString().trim();
         }
     }
-}
\ No newline at end of file
+}
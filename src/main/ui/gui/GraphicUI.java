@@ -1,22 +1,53 @@
 package ui.gui;
 
 import com.formdev.flatlaf.FlatIntelliJLaf;
+import model.Colour;
+import model.Move;
 import model.board.Board;
+import model.board.GameReplay;
+import persistence.GameCatalog;
+import persistence.JsonUtils;
 
 import javax.swing.*;
 import java.awt.*;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Represents the graphical user interface.
  */
 public class GraphicUI extends JFrame {
+    private static final String CATALOG_NAME = "catalog";
+    private static final int CANCEL_POLL_DELAY = 100;
+
+    private final GameCatalog catalog;
+    private final List<JButton> fileButtons;
     private GamePanel currentGamePanel;
+    private FileTask<?> currentFileTask;
+    private boolean hasPainted;
 
     /**
-     * @EFFECTS: Starts the graphical user interface on the event dispatch thread.
+     * @EFFECTS: Starts the graphical user interface on the event dispatch thread, while the resources are decoded in
+     * parallel on a background pool. The window does not wait for them, and any resource that is not ready when it
+     * is first used is loaded then.
      */
     public static void start() {
+        ExecutorService preloadExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                r -> {
+                    Thread thread = new Thread(r, "preload");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        CompletableFuture<Void> preloading = GamePanel.preloadResources(preloadExecutor);
+        preloading.whenComplete((result, e) -> preloadExecutor.shutdown());
+
         FlatIntelliJLaf.setup();
         SwingUtilities.invokeLater(GraphicUI::new);
     }
@@ -27,16 +58,33 @@ public class GraphicUI extends JFrame {
     private GraphicUI() {
         super("CPSC Program Similar to Chess");
         setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
-        setResizable(false);
+        this.catalog = new GameCatalog(CATALOG_NAME);
+        this.fileButtons = new ArrayList<>();
+        this.hasPainted = false;
 
         addNewToolbar();
-        replaceGamePanel(null);
+        replaceGamePanel(recoverGamePanel());
 
         pack();
         setLocationRelativeTo(null);
         setVisible(true);
     }
 
+    /**
+     * @EFFECTS: See {@code JFrame.paint}. Records the time from startup to the first paint, which the timing overlay
+     * reports.
+     * @MODIFIES: {@code this}
+     */
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        if (!hasPainted) {
+            hasPainted = true;
+            long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+            Instrumentation.record(Instrumentation.FIRST_PAINT, System.nanoTime() - uptime * 1_000_000L);
+        }
+    }
+
     /**
      * @EFFECTS: Creates and adds a new toolbar containing menu options.
      * @MODIFIES: {@code this}
@@ -47,7 +95,10 @@ public class GraphicUI extends JFrame {
 
         // Disgusting use of magic strings to get bundled icons here...
         JButton newButton = new JButton(UIManager.getIcon("FileChooser.listViewIcon"));
-        newButton.addActionListener(e -> newGame());
+        newButton.addActionListener(e -> newGame(null));
+
+        JButton computerButton = new JButton(UIManager.getIcon("FileView.computerIcon"));
+        computerButton.addActionListener(e -> newGame(Colour.BLACK));
 
         JButton saveButton = new JButton(UIManager.getIcon("FileView.floppyDriveIcon"));
         saveButton.addActionListener(e -> saveFile());
@@ -58,80 +109,127 @@ public class GraphicUI extends JFrame {
         JButton copyButton = new JButton(UIManager.getIcon("FileChooser.detailsViewIcon"));
         copyButton.addActionListener(e -> copyGame());
 
+        JButton replayButton = new JButton(UIManager.getIcon("FileView.fileIcon"));
+        replayButton.addActionListener(e -> replayFile());
+
+        JButton spectateButton = new JButton(UIManager.getIcon("FileView.hardDriveIcon"));
+        spectateButton.addActionListener(e -> spectateGames());
+
+        // These are disabled while a file task runs, since only one runs at a time.
+        fileButtons.addAll(Arrays.asList(saveButton, loadButton, replayButton));
+
         toolBar.add(newButton);
+        toolBar.add(computerButton);
         toolBar.addSeparator();
         toolBar.add(saveButton);
         toolBar.add(loadButton);
         toolBar.add(copyButton);
+        toolBar.add(replayButton);
+        toolBar.addSeparator();
+        toolBar.add(spectateButton);
 
         add(toolBar, BorderLayout.PAGE_START);
     }
 
     /**
-     * @EFFECTS: Replaces the current game panel with a new one using the given path, if applicable.
-     * @MODIFIES: {@code this}
+     * @EFFECTS: Returns a game panel continuing the last journaled game, or a new game panel for two local players if
+     * it could not be recovered.
      */
-    private void replaceGamePanel(String fileName) {
-        GamePanel newGamePanel = new GamePanel();
-
-        // Check if the given file can be loaded before replacing the current one.
-        if (fileName != null) {
-            try {
-                newGamePanel.loadFile(fileName);
-            } catch (IOException e) {
-                showWarningDialog("File does not exist: " + fileName);
-            } catch (RuntimeException e) {
-                showWarningDialog("Something went wrong.");
-            }
+    private GamePanel recoverGamePanel() {
+        try {
+            return GamePanel.recoverJournal();
+        } catch (IOException | RuntimeException e) {
+            showWarningDialog("Could not recover the last game.");
+            return new GamePanel();
         }
+    }
 
-        // Replace the current game panel with the new one.
+    /**
+     * @EFFECTS: Replaces the current game panel with the given one, which takes over the journal.
+     * @MODIFIES: {@code this}
+     */
+    private void replaceGamePanel(GamePanel newGamePanel) {
         if (currentGamePanel != null) {
+            currentGamePanel.close();
             remove(currentGamePanel);
         }
+
+        try {
+            newGamePanel.startJournal();
+        } catch (IOException | RuntimeException e) {
+            showWarningDialog("Could not open the journal.");
+        }
         currentGamePanel = newGamePanel;
         add(currentGamePanel, BorderLayout.CENTER);
         revalidate();
     }
 
     /**
-     * @EFFECTS: Starts a new game and replaces the current game panel.
+     * @EFFECTS: Starts a new game against the computer playing the given colour (or another local player if
+     * {@code null}) and replaces the current game panel.
      * @MODIFIES: {@code this}
      */
-    private void newGame() {
+    private void newGame(Colour computerPlayer) {
         if (JOptionPane.showConfirmDialog(this, "Unsaved changes will be discarded.",
                 "New Game", JOptionPane.OK_CANCEL_OPTION, JOptionPane.WARNING_MESSAGE) == JOptionPane.OK_OPTION) {
-            replaceGamePanel(null);
+            replaceGamePanel(new GamePanel(computerPlayer));
         }
     }
 
     /**
-     * @EFFECTS: Saves the game to a JSON file.
+     * @EFFECTS: Saves the game to a JSON file in the background.
      * @MODIFIES: ./data/{@code fileName}.cpsc
      */
     private void saveFile() {
-        String input = JOptionPane.showInputDialog(this, "Input a file name.",
-                "Save Game", JOptionPane.QUESTION_MESSAGE);
+        String input = currentFileTask == null ? JOptionPane.showInputDialog(this, "Input a file name.",
+                "Save Game", JOptionPane.QUESTION_MESSAGE) : null;
         if (input != null) {
-            try {
-                currentGamePanel.saveFile(input);
-            } catch (IOException e) {
-                showWarningDialog("Illegal file name: " + input);
-            } catch (RuntimeException e) {
-                showWarningDialog("Something went wrong.");
-            }
+            new SaveTask(input, currentGamePanel.getHistory()).execute();
         }
     }
 
     /**
-     * @EFFECTS: Loads an existing game from a JSON file and replaces the current game panel.
+     * @EFFECTS: Loads a game chosen from the saved games in the background, then replaces the current game panel.
      * @MODIFIES: {@code this}
      */
     private void loadFile() {
-        String input = JOptionPane.showInputDialog(this, "Input a file name.",
-                "Load Game", JOptionPane.QUESTION_MESSAGE);
+        String input = currentFileTask == null ? GameBrowser.showDialog(this, catalog, "Load Game") : null;
+        if (input != null) {
+            new LoadTask(input).execute();
+        }
+    }
+
+    /**
+     * @EFFECTS: Loads a game chosen from the saved games in the background, then opens a replay of it.
+     */
+    private void replayFile() {
+        String input = currentFileTask == null ? GameBrowser.showDialog(this, catalog, "Replay Game") : null;
         if (input != null) {
-            replaceGamePanel(input);
+            new ReplayTask(input).execute();
+        }
+    }
+
+    /**
+     * @EFFECTS: Opens a spectator wall with the chosen number of games between computer players.
+     */
+    private void spectateGames() {
+        String input = JOptionPane.showInputDialog(this, "Input a number of games (at most "
+                + SpectatorWall.MAX_GAMES + ").", "Spectate Games", JOptionPane.QUESTION_MESSAGE);
+        if (input == null) {
+            return;
+        }
+
+        int gameCount;
+        try {
+            gameCount = Integer.parseInt(input.trim());
+        } catch (NumberFormatException e) {
+            gameCount = 0;
+        }
+
+        if (gameCount > 0 && gameCount <= SpectatorWall.MAX_GAMES) {
+            SpectatorWall.showDialog(this, gameCount);
+        } else {
+            showWarningDialog("Illegal number of games: " + input);
         }
     }
 
@@ -150,6 +248,16 @@ public class GraphicUI extends JFrame {
                 JOptionPane.INFORMATION_MESSAGE);
     }
 
+    /**
+     * @EFFECTS: Enables or disables the buttons that start a file task.
+     * @MODIFIES: {@code this}
+     */
+    private void setFileButtonsEnabled(boolean isEnabled) {
+        for (JButton button : fileButtons) {
+            button.setEnabled(isEnabled);
+        }
+    }
+
     /**
      * @EFFECTS: Displays a warning dialog after a short delay (because instant popups are unnerving).
      */
@@ -159,4 +267,171 @@ public class GraphicUI extends JFrame {
         timer.setRepeats(false);
         timer.start();
     }
-}
\ No newline at end of file
+
+    /**
+     * Represents a save or load running off the event dispatch thread, with a progress monitor that can cancel it.
+     * Only one runs at a time, and the file buttons are disabled until it is done. The monitor is polled for
+     * cancellation, which interrupts the task so that it stops at the next check in its read or write loop.
+     */
+    private abstract class FileTask<T> extends SwingWorker<T, Void> {
+        protected final String fileName;
+        private final ProgressMonitor progressMonitor;
+        private final Timer cancelTimer;
+
+        /**
+         * @EFFECTS: Constructs a new file task for the given file, with a progress monitor showing the given title.
+         * @MODIFIES: {@code GraphicUI.this}
+         */
+        public FileTask(String title, String fileName) {
+            this.fileName = fileName;
+            this.progressMonitor = new ProgressMonitor(GraphicUI.this, title + ": " + fileName, null, 0, 100);
+            this.cancelTimer = new Timer(CANCEL_POLL_DELAY, e -> {
+                if (progressMonitor.isCanceled()) {
+                    cancel(true);
+                }
+            });
+            currentFileTask = this;
+            setFileButtonsEnabled(false);
+            cancelTimer.start();
+
+            addPropertyChangeListener(e -> {
+                if ("progress".equals(e.getPropertyName())) {
+                    progressMonitor.setProgress(getProgress());
+                }
+            });
+        }
+
+        /**
+         * @EFFECTS: See {@code SwingWorker.done}. Finishes the task on the event dispatch thread unless it was
+         * cancelled, and reports any error.
+         * @MODIFIES: {@code GraphicUI.this}
+         */
+        @Override
+        protected void done() {
+            cancelTimer.stop();
+            progressMonitor.close();
+            currentFileTask = null;
+            setFileButtonsEnabled(true);
+            if (isCancelled()) {
+                return;
+            }
+
+            try {
+                finish(get());
+            } catch (ExecutionException e) {
+                showWarningDialog(e.getCause() instanceof IOException
+                        ? getErrorMessage() : "Something went wrong.");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * @EFFECTS: Uses the result of the task on the event dispatch thread.
+         * @MODIFIES: {@code GraphicUI.this}
+         */
+        protected abstract void finish(T result);
+
+        /**
+         * @EFFECTS: Returns the message to show if the task fails to read or write its file.
+         */
+        protected abstract String getErrorMessage();
+    }
+
+    /**
+     * Represents saving a snapshot of the current game in the background.
+     */
+    private class SaveTask extends FileTask<Void> {
+        private final List<Move> moves;
+
+        /**
+         * @EFFECTS: Constructs a new task saving the given moves to the given file.
+         */
+        public SaveTask(String fileName, List<Move> moves) {
+            super("Saving", fileName);
+            this.moves = moves;
+        }
+
+        /**
+         * @EFFECTS: See {@code SwingWorker.doInBackground}.
+         * @MODIFIES: ./data/{@code fileName}.cpsc
+         */
+        @Override
+        protected Void doInBackground() throws IOException {
+            JsonUtils.save(fileName, moves, this::setProgress);
+            return null;
+        }
+
+        @Override
+        protected void finish(Void result) { /* pass */ }
+
+        @Override
+        protected String getErrorMessage() {
+            return "Illegal file name: " + fileName;
+        }
+    }
+
+    /**
+     * Represents loading a game in the background, whose panel replaces the current one once it has been replayed.
+     */
+    private class LoadTask extends FileTask<Board> {
+        /**
+         * @EFFECTS: Constructs a new task loading the given file.
+         */
+        public LoadTask(String fileName) {
+            super("Loading", fileName);
+        }
+
+        /**
+         * @EFFECTS: See {@code SwingWorker.doInBackground}. Replays the file onto a new board.
+         */
+        @Override
+        protected Board doInBackground() throws IOException {
+            Board board = new Board();
+            JsonUtils.replay(fileName, board, this::setProgress);
+            return board;
+        }
+
+        @Override
+        protected void finish(Board result) {
+            replaceGamePanel(new GamePanel(result, null));
+        }
+
+        @Override
+        protected String getErrorMessage() {
+            return "File does not exist: " + fileName;
+        }
+    }
+
+    /**
+     * Represents loading a game in the background and recording every ply of it, after which a replay is opened.
+     */
+    private class ReplayTask extends FileTask<GameReplay> {
+        /**
+         * @EFFECTS: Constructs a new task replaying the given file.
+         */
+        public ReplayTask(String fileName) {
+            super("Loading", fileName);
+        }
+
+        /**
+         * @EFFECTS: See {@code SwingWorker.doInBackground}. Replays the file onto a new board, then records it.
+         */
+        @Override
+        protected GameReplay doInBackground() throws IOException {
+            Board board = new Board();
+            JsonUtils.replay(fileName, board, this::setProgress);
+            return new GameReplay(board.getHistory());
+        }
+
+        @Override
+        protected void finish(GameReplay result) {
+            ReplayPanel.showDialog(GraphicUI.this, result, fileName);
+        }
+
+        @Override
+        protected String getErrorMessage() {
+            return "File does not exist: " + fileName;
+        }
+    }
+}
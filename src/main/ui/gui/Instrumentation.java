@@ -0,0 +1,68 @@
+package ui.gui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Contains the rolling timings of the hot paths of the graphical interface, for diagnosing stutter without attaching
+ * a profiler. Each path keeps only its most recent durations in a ring buffer, so that recording one is a clock read
+ * and an array store, and percentiles are only computed when they are reported.
+ */
+public final class Instrumentation {
+    public static final int PAINT = 0;
+    public static final int VISIBILITY = 1;
+    public static final int IS_VALID = 2;
+    public static final int IMAGE_LOAD = 3;
+    public static final int SOUND_LOAD = 4;
+    public static final int FIRST_PAINT = 5;
+
+    private static final String[] NAMES = {"Paint", "Visibility", "Move.isValid", "Image load", "Sound load",
+            "First paint"};
+    private static final int WINDOW = 256;
+    private static final long[][] SAMPLES = new long[NAMES.length][WINDOW];
+    private static final long[] COUNTS = new long[NAMES.length];
+
+    /**
+     * @REQUIRES: Instantiation of a utility class is not allowed.
+     */
+    private Instrumentation() { /* pass */ }
+
+    /**
+     * @EFFECTS: Records the time elapsed since the given start time (from {@code System.nanoTime()}) as one run of the
+     * given path.
+     * @MODIFIES: {@code Instrumentation}
+     */
+    public static void record(int path, long start) {
+        long duration = System.nanoTime() - start;
+        synchronized (SAMPLES) {
+            SAMPLES[path][(int) (COUNTS[path] % WINDOW)] = duration;
+            COUNTS[path]++;
+        }
+    }
+
+    /**
+     * @EFFECTS: Returns a line for each path with the median and 99th percentile of its recent durations in
+     * milliseconds, and the number of runs recorded so far.
+     */
+    public static List<String> getReport() {
+        List<String> report = new ArrayList<>(NAMES.length);
+        for (int i = 0; i < NAMES.length; i++) {
+            long[] samples;
+            long count;
+            synchronized (SAMPLES) {
+                count = COUNTS[i];
+                samples = Arrays.copyOf(SAMPLES[i], (int) Math.min(count, WINDOW));
+            }
+
+            if (samples.length == 0) {
+                report.add(NAMES[i] + ": -");
+                continue;
+            }
+            Arrays.sort(samples);
+            report.add(String.format("%s: p50 %.2f ms, p99 %.2f ms (n=%d)", NAMES[i],
+                    samples[(samples.length - 1) / 2] / 1e6, samples[(samples.length - 1) * 99 / 100] / 1e6, count));
+        }
+        return report;
+    }
+}
@@ -0,0 +1,192 @@
+package ui.gui;
+
+import model.Colour;
+import model.Move;
+import model.board.Board;
+import model.board.GameReplay;
+import persistence.NotationCodec;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the replay of a finished game, showing the view of each player side by side at the ply chosen on a
+ * timeline. Every ply is looked up from the replay rather than played, so scrubbing and auto-play only repaint the
+ * two board views.
+ */
+public class ReplayPanel extends JPanel {
+    private static final int BOARD_SIZE = 400;
+    private static final int GAP = 8;
+    private static final int FRAME_DELAY = 16;
+    private static final int[] SPEEDS = {1, 4, 16, 64, 256};
+
+    private final GameReplay replay;
+    private final List<String> moveStrings;
+    private final List<BoardView> boardViews;
+    private final JSlider timeline;
+    private final JLabel plyLabel;
+    private final JToggleButton playButton;
+    private final JComboBox<String> speedComboBox;
+    private final Timer autoPlayTimer;
+    private long autoPlayStart;
+    private int autoPlayStartPly;
+
+    /**
+     * @EFFECTS: Constructs a new replay panel at the start of the given replay.
+     */
+    public ReplayPanel(GameReplay replay) {
+        setLayout(new BorderLayout());
+
+        this.replay = replay;
+        this.moveStrings = NotationCodec.toStrings(replay.getMoves());
+        this.boardViews = new ArrayList<>();
+        this.timeline = new JSlider(0, replay.getPlyCount(), 0);
+        this.plyLabel = new JLabel();
+        this.playButton = new JToggleButton("Play");
+        this.speedComboBox = new JComboBox<>();
+        this.autoPlayTimer = new Timer(FRAME_DELAY, e -> nextFrame());
+
+        addBoardViews();
+        addControls();
+        showPly(0);
+    }
+
+    /**
+     * @EFFECTS: Displays a replay of the given game in a new window over the given frame.
+     */
+    public static void showDialog(JFrame owner, GameReplay replay, String title) {
+        ReplayPanel replayPanel = new ReplayPanel(replay);
+        JDialog dialog = new JDialog(owner, "Replay: " + title, false);
+        dialog.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                replayPanel.stopAutoPlay();
+            }
+        });
+
+        dialog.add(replayPanel);
+        dialog.pack();
+        dialog.setLocationRelativeTo(owner);
+        dialog.setVisible(true);
+    }
+
+    /**
+     * @EFFECTS: Stops auto-playing the replay.
+     * @MODIFIES: {@code this}
+     */
+    public void stopAutoPlay() {
+        autoPlayTimer.stop();
+        playButton.setSelected(false);
+    }
+
+    /**
+     * @EFFECTS: Creates and adds a board view for each player.
+     * @MODIFIES: {@code this}
+     */
+    private void addBoardViews() {
+        JPanel boardPanel = new JPanel(new GridLayout(1, Colour.values().length, GAP, 0));
+        for (Colour colour : Colour.values()) {
+            BoardView boardView = new BoardView(GamePanel.SPRITE_CACHE, colour);
+            boardView.setPreferredSize(new Dimension(BOARD_SIZE, BOARD_SIZE));
+            boardViews.add(boardView);
+
+            JPanel viewPanel = new JPanel(new BorderLayout());
+            viewPanel.add(new JLabel(colour.toString(), SwingConstants.CENTER), BorderLayout.PAGE_START);
+            viewPanel.add(boardView, BorderLayout.CENTER);
+            boardPanel.add(viewPanel);
+        }
+        add(boardPanel, BorderLayout.CENTER);
+    }
+
+    /**
+     * @EFFECTS: Creates and adds the timeline and the auto-play controls.
+     * @MODIFIES: {@code this}
+     */
+    private void addControls() {
+        timeline.addChangeListener(e -> showPly(timeline.getValue()));
+        playButton.addActionListener(e -> {
+            if (playButton.isSelected()) {
+                startAutoPlay();
+            } else {
+                stopAutoPlay();
+            }
+        });
+
+        for (int speed : SPEEDS) {
+            speedComboBox.addItem(speed + " plies/s");
+        }
+        speedComboBox.addActionListener(e -> restartAutoPlay());
+
+        JPanel controlPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        controlPanel.add(playButton);
+        controlPanel.add(speedComboBox);
+        controlPanel.add(plyLabel);
+
+        JPanel timelinePanel = new JPanel(new BorderLayout());
+        timelinePanel.add(timeline, BorderLayout.CENTER);
+        timelinePanel.add(controlPanel, BorderLayout.PAGE_END);
+        add(timelinePanel, BorderLayout.PAGE_END);
+    }
+
+    /**
+     * @EFFECTS: Shows the position after the given ply in each board view, with the last move highlighted.
+     * @MODIFIES: {@code this}
+     */
+    private void showPly(int ply) {
+        long highlightMask = 0L;
+        if (ply > 0) {
+            Move move = replay.getMoves().get(ply - 1);
+            highlightMask = 1L << (move.getStart().getY() * Board.SIZE + move.getStart().getX())
+                    | 1L << (move.getEnd().getY() * Board.SIZE + move.getEnd().getX());
+        }
+
+        for (Colour colour : Colour.values()) {
+            boardViews.get(colour.ordinal()).setPosition(replay.getPosition(ply),
+                    replay.getVisibleMask(ply, colour), highlightMask);
+        }
+        plyLabel.setText(ply == 0 ? "Start" : (ply - 1) / Colour.values().length + 1 + ". "
+                + (ply % Colour.values().length == 0 ? "... " : "") + moveStrings.get(ply - 1));
+    }
+
+    /**
+     * @EFFECTS: Starts auto-playing the replay from the current ply, or from the start if it is at the end.
+     * @MODIFIES: {@code this}
+     */
+    private void startAutoPlay() {
+        if (timeline.getValue() == replay.getPlyCount()) {
+            timeline.setValue(0);
+        }
+        restartAutoPlay();
+        autoPlayTimer.start();
+    }
+
+    /**
+     * @EFFECTS: Counts the auto-play time from the current ply again, so that a new speed applies from there.
+     * @MODIFIES: {@code this}
+     */
+    private void restartAutoPlay() {
+        autoPlayStart = System.nanoTime();
+        autoPlayStartPly = timeline.getValue();
+    }
+
+    /**
+     * @EFFECTS: Advances the timeline to the ply reached at the current speed since auto-play was last started, and
+     * stops at the end of the game. The ply depends on the elapsed time only, so that slow frames skip plies rather
+     * than slowing the replay down.
+     * @MODIFIES: {@code this}
+     */
+    private void nextFrame() {
+        long elapsed = System.nanoTime() - autoPlayStart;
+        long ply = autoPlayStartPly + elapsed * SPEEDS[speedComboBox.getSelectedIndex()] / 1_000_000_000L;
+
+        timeline.setValue((int) Math.min(ply, replay.getPlyCount()));
+        if (ply >= replay.getPlyCount()) {
+            stopAutoPlay();
+        }
+    }
+}
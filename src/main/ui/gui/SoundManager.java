@@ -0,0 +1,145 @@
+package ui.gui;
+
+import javax.sound.sampled.*;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Represents the player of the sound effects. Every sound is decoded once, and played on a dedicated audio thread
+ * through a small pool of reusable clips per sound, so that playing a sound never blocks the caller.
+ */
+public class SoundManager {
+    private static final int POOL_SIZE = 3;
+
+    private final String path;
+    private final ExecutorService audioExecutor;
+    private final Map<String, AudioFormat> formats;
+    private final Map<String, byte[]> samples;
+    private final Map<String, List<Clip>> clips;
+    private CompletableFuture<Void> preloading;
+
+    /**
+     * @EFFECTS: Constructs a new sound manager for the sounds in the given directory, which are decoded by
+     * {@code preload}, or on the audio thread before the first sound is played otherwise.
+     */
+    public SoundManager(String path) {
+        this.path = path;
+        this.audioExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "audio");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.formats = new ConcurrentHashMap<>();
+        this.samples = new ConcurrentHashMap<>();
+        this.clips = new HashMap<>();
+        this.preloading = null;
+    }
+
+    /**
+     * @EFFECTS: Starts decoding every WAV file in the directory in parallel on the given executor, then opens a clip
+     * for each sound on the audio thread, unless preloading has already started. Returns a future that completes once
+     * every sound has been decoded.
+     * @MODIFIES: {@code this}
+     */
+    public synchronized CompletableFuture<Void> preload(Executor executor) {
+        if (preloading == null) {
+            List<CompletableFuture<Void>> decodings = new ArrayList<>();
+            try (DirectoryStream<Path> paths = Files.newDirectoryStream(Paths.get(path), "*.wav")) {
+                for (Path file : paths) {
+                    decodings.add(CompletableFuture.runAsync(() -> decode(file), executor));
+                }
+            } catch (IOException e) { /* No sounds, then. */ }
+
+            preloading = CompletableFuture.allOf(decodings.toArray(new CompletableFuture<?>[0]));
+            preloading.thenRunAsync(this::openClips, audioExecutor);
+        }
+        return preloading;
+    }
+
+    /**
+     * @EFFECTS: Plays the sound with the given name on the audio thread, if it was decoded.
+     */
+    public void play(String name) {
+        audioExecutor.execute(() -> {
+            try {
+                preload(Runnable::run).join();
+                Clip clip = getClip(name);
+                if (clip != null) {
+                    clip.stop();
+                    clip.setFramePosition(0);
+                    clip.start();
+                }
+            } catch (LineUnavailableException | RuntimeException e) { /* Whatever, man. */ }
+        });
+    }
+
+    /**
+     * @EFFECTS: Decodes the given WAV file into memory, or skips it if it cannot be decoded.
+     * @MODIFIES: {@code this}
+     */
+    private void decode(Path file) {
+        long start = System.nanoTime();
+        try (AudioInputStream stream = AudioSystem.getAudioInputStream(file.toFile())) {
+            String fileName = file.getFileName().toString();
+            String name = fileName.substring(0, fileName.length() - ".wav".length());
+            formats.put(name, stream.getFormat());
+            samples.put(name, stream.readAllBytes());
+            Instrumentation.record(Instrumentation.SOUND_LOAD, start);
+        } catch (UnsupportedAudioFileException | IOException e) { /* Skip it. */ }
+    }
+
+    /**
+     * @EFFECTS: Opens a clip for every decoded sound, so that the audio device is ready before the first sound.
+     * @MODIFIES: {@code this}
+     * @REQUIRES: called on the audio thread
+     */
+    private void openClips() {
+        for (String name : samples.keySet()) {
+            try {
+                getClip(name);
+            } catch (LineUnavailableException | RuntimeException e) { /* Whatever, man. */ }
+        }
+    }
+
+    /**
+     * @EFFECTS: Returns a clip of the sound with the given name that is free to play, opening a new one if all of the
+     * pooled clips are busy and the pool is not full, or reusing the first one otherwise. Returns {@code null} if the
+     * sound was not decoded.
+     * @MODIFIES: {@code this}
+     * @REQUIRES: called on the audio thread
+     */
+    private Clip getClip(String name) throws LineUnavailableException {
+        if (!samples.containsKey(name)) {
+            return null;
+        }
+
+        List<Clip> pool = clips.computeIfAbsent(name, k -> new ArrayList<>());
+        for (Clip clip : pool) {
+            if (!clip.isRunning()) {
+                return clip;
+            }
+        }
+        if (pool.size() >= POOL_SIZE) {
+            return pool.get(0);
+        }
+
+        long start = System.nanoTime();
+        Clip clip = AudioSystem.getClip();
+        clip.open(formats.get(name), samples.get(name), 0, samples.get(name).length);
+        Instrumentation.record(Instrumentation.SOUND_LOAD, start);
+        pool.add(clip);
+        return clip;
+    }
+}
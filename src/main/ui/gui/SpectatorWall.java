@@ -0,0 +1,226 @@
+package ui.gui;
+
+import model.Colour;
+import model.Move;
+import model.board.Board;
+import model.engine.Search;
+import model.engine.TranspositionTable;
+import model.piece.Piece;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents a wall of small boards, each showing a game between two computer players. The games are played on a
+ * shared background pool, and each one publishes a snapshot of its position after every move. A single timer copies
+ * the latest snapshots into the board views at a fixed frame rate, so that any number of moves between two frames
+ * costs one repaint of the squares that changed, and all of the views share the sprites of the game panel.
+ */
+public class SpectatorWall extends JPanel {
+    public static final int MAX_GAMES = 400;
+    private static final int BOARD_SIZE = 96;
+    private static final int GAP = 4;
+    private static final int FRAME_DELAY = 33;
+    private static final int MOVE_DELAY = 500;
+    private static final int RESTART_DELAY = 3000;
+    private static final int SEARCH_DEPTH = 2;
+    private static final int TABLE_BITS = 12;
+    private static final int OPENING_PLIES = 4;
+    private static final int MAX_PLIES = 300;
+
+    private final List<SpectatedGame> games;
+    private final List<BoardView> boardViews;
+    private final Snapshot[] displayedSnapshots;
+    private final ScheduledExecutorService gameExecutor;
+    private final Timer frameTimer;
+
+    /**
+     * @EFFECTS: Constructs a new spectator wall showing the given number of games, and starts playing them.
+     * @REQUIRES: {@code 0 < gameCount <= MAX_GAMES}
+     */
+    public SpectatorWall(int gameCount) {
+        setLayout(new GridLayout(0, (int) Math.ceil(Math.sqrt(gameCount)), GAP, GAP));
+        setBorder(BorderFactory.createEmptyBorder(GAP, GAP, GAP, GAP));
+
+        this.games = new ArrayList<>(gameCount);
+        this.boardViews = new ArrayList<>(gameCount);
+        this.displayedSnapshots = new Snapshot[gameCount];
+        this.gameExecutor = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread thread = new Thread(r, "spectator");
+            thread.setDaemon(true);
+            // The games are only for show, so they give way to the event dispatch thread when the CPU is busy.
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        this.frameTimer = new Timer(FRAME_DELAY, e -> nextFrame());
+
+        addGames(gameCount);
+        frameTimer.start();
+    }
+
+    /**
+     * @EFFECTS: Displays a new spectator wall with the given number of games in a new window over the given frame.
+     * @REQUIRES: {@code 0 < gameCount <= MAX_GAMES}
+     */
+    public static void showDialog(JFrame owner, int gameCount) {
+        SpectatorWall spectatorWall = new SpectatorWall(gameCount);
+        JDialog dialog = new JDialog(owner, "Spectating " + gameCount + " games", false);
+        dialog.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                spectatorWall.stop();
+            }
+        });
+
+        JScrollPane scrollPane = new JScrollPane(spectatorWall);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(BOARD_SIZE / Board.SIZE);
+        Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
+        Dimension wallSize = scrollPane.getPreferredSize();
+        scrollPane.setPreferredSize(new Dimension(Math.min(wallSize.width, screenSize.width * 4 / 5),
+                Math.min(wallSize.height, screenSize.height * 4 / 5)));
+
+        dialog.add(scrollPane);
+        dialog.pack();
+        dialog.setLocationRelativeTo(owner);
+        dialog.setVisible(true);
+    }
+
+    /**
+     * @EFFECTS: Stops playing and displaying the games.
+     * @MODIFIES: {@code this}
+     */
+    public void stop() {
+        frameTimer.stop();
+        gameExecutor.shutdownNow();
+    }
+
+    /**
+     * @EFFECTS: Creates and adds a board view for each of the given number of games, and schedules the games with
+     * their moves spread out over the move delay.
+     * @MODIFIES: {@code this}
+     */
+    private void addGames(int gameCount) {
+        for (int i = 0; i < gameCount; i++) {
+            BoardView boardView = new BoardView(GamePanel.SPRITE_CACHE, Colour.WHITE);
+            boardView.setPreferredSize(new Dimension(BOARD_SIZE, BOARD_SIZE));
+            boardViews.add(boardView);
+            add(boardView);
+
+            SpectatedGame game = new SpectatedGame();
+            games.add(game);
+            gameExecutor.scheduleWithFixedDelay(game, (long) MOVE_DELAY * i / gameCount, MOVE_DELAY,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @EFFECTS: Shows the latest snapshot of every game that moved since the last frame. Spectators see the whole
+     * board, with the last move highlighted.
+     * @MODIFIES: {@code this}
+     */
+    private void nextFrame() {
+        for (int i = 0; i < games.size(); i++) {
+            Snapshot snapshot = games.get(i).snapshot;
+            if (snapshot != displayedSnapshots[i]) {
+                displayedSnapshots[i] = snapshot;
+                boardViews.get(i).setPosition(snapshot.position, -1L, snapshot.highlightMask);
+            }
+        }
+    }
+
+    /**
+     * Represents the position of a game after a move, which is never modified once published.
+     */
+    private static final class Snapshot {
+        private final Piece[] position;
+        private final long highlightMask;
+
+        /**
+         * @EFFECTS: Constructs a new snapshot of the given board, with the given move highlighted if not {@code null}.
+         */
+        private Snapshot(Board board, Move move) {
+            this.position = board.getPosition();
+            this.highlightMask = move == null ? 0L
+                    : 1L << (move.getStart().getY() * Board.SIZE + move.getStart().getX())
+                    | 1L << (move.getEnd().getY() * Board.SIZE + move.getEnd().getX());
+        }
+    }
+
+    /**
+     * Represents a game between two computer players, which plays one move each time it is run. The first few moves
+     * are random so that the games do not all play out the same, and a finished game starts over after a pause.
+     */
+    private static final class SpectatedGame implements Runnable {
+        private final TranspositionTable table;
+        private Board board;
+        private int idleTime;
+        private volatile Snapshot snapshot;
+
+        /**
+         * @EFFECTS: Constructs a new game at the starting position.
+         */
+        private SpectatedGame() {
+            this.table = new TranspositionTable(TABLE_BITS);
+            restart();
+        }
+
+        /**
+         * @EFFECTS: Plays the next move of the game and publishes the position after it, or starts over once the game
+         * has been over for the restart delay.
+         * @MODIFIES: {@code this}
+         */
+        @Override
+        public void run() {
+            try {
+                if (board.isGameOver() || board.getHistory().size() >= MAX_PLIES) {
+                    idleTime += MOVE_DELAY;
+                    if (idleTime >= RESTART_DELAY) {
+                        restart();
+                    }
+                    return;
+                }
+
+                Move move = getNextMove();
+                if (move == null) {
+                    restart();
+                    return;
+                }
+                board.doMove(move);
+                snapshot = new Snapshot(board, move);
+            } catch (RuntimeException e) {
+                // An exception would cancel every later run of the game, so start over instead.
+                restart();
+            }
+        }
+
+        /**
+         * @EFFECTS: Returns the move to play next, or {@code null} if there are none.
+         */
+        private Move getNextMove() {
+            if (board.getHistory().size() < OPENING_PLIES) {
+                List<Move> moves = Search.getMoves(board, false);
+                return moves.isEmpty() ? null : moves.get(ThreadLocalRandom.current().nextInt(moves.size()));
+            }
+            return new Search(SEARCH_DEPTH, table).getBestMove(board);
+        }
+
+        /**
+         * @EFFECTS: Starts the game over at the starting position.
+         * @MODIFIES: {@code this}
+         */
+        private void restart() {
+            board = new Board();
+            idleTime = 0;
+            snapshot = new Snapshot(board, null);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package ui.gui;
+
+import model.piece.Piece;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Represents a cache of piece sprites. Each image is decoded from disk once and scaled once per square size, so
+ * painting a piece never touches the disk or scales an image. Only the most recently used square sizes are kept, so
+ * the sprites of an old size are dropped once a board changes size. Sprites are scaled outside the lock, so scaling
+ * to a new size on one thread never delays reading the sprites of another size on the event dispatch thread.
+ */
+public class SpriteCache {
+    private static final int MAX_SIZES = 4;
+
+    private final String path;
+    private final Map<String, BufferedImage> images;
+    private final Map<Dimension, Map<String, BufferedImage>> scaledSprites;
+
+    /**
+     * @EFFECTS: Constructs a new empty cache for the sprites in the given directory.
+     */
+    public SpriteCache(String path) {
+        this.path = path;
+        this.images = new HashMap<>();
+        this.scaledSprites = new LinkedHashMap<>(MAX_SIZES + 1, 1, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Dimension, Map<String, BufferedImage>> eldest) {
+                return size() > MAX_SIZES;
+            }
+        };
+    }
+
+    /**
+     * @EFFECTS: Returns the sprite of the given piece scaled to the given size, or {@code null} if the size is empty.
+     * @MODIFIES: {@code this}
+     */
+    public BufferedImage getSprite(Piece piece, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        return getScaledSprite((piece.getColour() + "/" + piece.getClass().getSimpleName()).toLowerCase(Locale.ROOT),
+                width, height);
+    }
+
+    /**
+     * @EFFECTS: Starts decoding every sprite in the directory in parallel on the given executor, and scaling it to
+     * the given square size. Returns a future that completes once every sprite is ready.
+     * @MODIFIES: {@code this}
+     */
+    public CompletableFuture<Void> preload(Executor executor, int squareSize) {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(Paths.get(path))) {
+            files = paths.filter(file -> file.toString().endsWith(".png")).collect(Collectors.toList());
+        } catch (IOException e) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<CompletableFuture<Void>> loadings = new ArrayList<>();
+        for (Path file : files) {
+            String key = Paths.get(path).relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+            String name = key.substring(0, key.length() - ".png".length());
+            loadings.add(CompletableFuture.runAsync(() -> {
+                BufferedImage image = readImage(name);
+                synchronized (this) {
+                    images.putIfAbsent(name, image);
+                }
+                getScaledSprite(name, squareSize, squareSize);
+            }, executor));
+        }
+        return CompletableFuture.allOf(loadings.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * @EFFECTS: Returns the sprite with the given key scaled to the given size, scaling it on first use outside the
+     * lock.
+     * @MODIFIES: {@code this}
+     * @REQUIRES: {@code width > 0 && height > 0}
+     */
+    private BufferedImage getScaledSprite(String key, int width, int height) {
+        Dimension size = new Dimension(width, height);
+        BufferedImage image;
+        synchronized (this) {
+            BufferedImage sprite = scaledSprites.computeIfAbsent(size, s -> new HashMap<>()).get(key);
+            if (sprite != null) {
+                return sprite;
+            }
+            image = getImage(key);
+        }
+
+        long start = System.nanoTime();
+        BufferedImage sprite = scale(image, width, height);
+        Instrumentation.record(Instrumentation.IMAGE_LOAD, start);
+        synchronized (this) {
+            return scaledSprites.computeIfAbsent(size, s -> new HashMap<>()).merge(key, sprite, (a, b) -> a);
+        }
+    }
+
+    /**
+     * @EFFECTS: Returns the decoded sprite with the given key, decoding it on first use. A sprite that cannot be read
+     * is replaced with a blank one, so that it is not read again.
+     * @MODIFIES: {@code this}
+     */
+    private BufferedImage getImage(String key) {
+        return images.computeIfAbsent(key, this::readImage);
+    }
+
+    /**
+     * @EFFECTS: Returns the sprite with the given key decoded from disk, or a blank one if it cannot be read.
+     */
+    private BufferedImage readImage(String key) {
+        long start = System.nanoTime();
+        try {
+            BufferedImage image = ImageIO.read(Paths.get(path + key + ".png").toFile());
+            Instrumentation.record(Instrumentation.IMAGE_LOAD, start);
+            if (image != null) {
+                return image;
+            }
+        } catch (IOException e) { /* Fall through to a blank sprite. */ }
+        return new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * @EFFECTS: Returns a copy of the given image smoothly scaled to the given size.
+     */
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage scaledImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaledImage.createGraphics();
+        g.drawImage(image.getScaledInstance(width, height, Image.SCALE_SMOOTH), 0, 0, null);
+        g.dispose();
+        return scaledImage;
+    }
+}
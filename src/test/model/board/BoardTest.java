@@ -9,6 +9,9 @@ import model.piece.Rook;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -61,6 +64,45 @@ public class BoardTest {
         assertFalse(board.isGameOver());
     }
 
+    /**
+     * @EFFECTS: Tests {@code Board.new} by copying a board after a move.
+     * @MODIFIES: {@code this}
+     */
+    @Test
+    public void initTestCopy() {
+        board.doMove(new Move(board.getSquare(4, 1), board.getSquare(4, 3)));
+        Board copy = new Board(board);
+        copy.doMove(new Move(copy.getSquare(3, 6), copy.getSquare(3, 4)));
+
+        assertEquals(1, board.getHistory().size());
+        assertEquals(2, copy.getHistory().size());
+        assertTrue(board.getSquare(3, 6).hasPiece());
+        assertNotSame(board.getSquare(4, 3).getPiece(), copy.getSquare(4, 3).getPiece());
+        assertTrue(copy.getSquare(4, 3).getPiece() instanceof Pawn);
+    }
+
+    /**
+     * @EFFECTS: Tests {@code Board.copyPosition} by copying a board after a double pawn move.
+     * @MODIFIES: {@code this}
+     */
+    @Test
+    public void copyPositionTest() {
+        board.doMove(new Move(board.getSquare(4, 1), board.getSquare(4, 4)));
+        board.doMove(new Move(board.getSquare(3, 6), board.getSquare(3, 4)));
+        Board copy = board.copyPosition();
+
+        assertTrue(copy.getHistory().isEmpty());
+        assertEquals(Colour.WHITE, copy.getCurrentPlayer());
+        Move move = new Move(copy.getSquare(4, 4), copy.getSquare(3, 5));
+        assertTrue(move.isValid(copy));
+        copy.doMove(move);
+
+        assertFalse(copy.getSquare(3, 4).hasPiece());
+        assertTrue(board.getSquare(3, 4).hasPiece());
+        assertEquals(Colour.BLACK, copy.getCurrentPlayer());
+        assertEquals(1, copy.getHistory().size());
+    }
+
     /**
      * @EFFECTS: Tests {@code Board.doMove} by making a move that ends the game.
      * @MODIFIES: {@code this}
@@ -213,4 +255,80 @@ public class BoardTest {
         assertFalse(board.getSquare(0, 0).hasPiece());
         assertTrue(board.getSquare(3, 0).getPiece() instanceof Rook);
     }
+
+    /**
+     * @EFFECTS: Tests {@code Board.getPosition} before and after a move.
+     * @MODIFIES: {@code this}
+     */
+    @Test
+    public void getPositionTest() {
+        Piece[] position = board.getPosition();
+        assertEquals(Board.SIZE * Board.SIZE, position.length);
+        assertSame(board.getSquare(4, 1).getPiece(), position[Board.SIZE + 4]);
+        assertNull(position[3 * Board.SIZE + 4]);
+
+        board.doMove(new Move(board.getSquare(4, 1), board.getSquare(4, 3)));
+        assertSame(position[Board.SIZE + 4], board.getPosition()[3 * Board.SIZE + 4]);
+        assertNull(board.getPosition()[Board.SIZE + 4]);
+        assertNotNull(position[Board.SIZE + 4]);
+    }
+
+    /**
+     * @EFFECTS: Tests {@code Board.getMask}.
+     */
+    @Test
+    public void getMaskTest() {
+        assertEquals(0L, Board.getMask(Set.of()));
+        assertEquals(1L | 1L << 63, Board.getMask(Set.of(board.getSquare(0, 0), board.getSquare(7, 7))));
+    }
+
+    /**
+     * @EFFECTS: Tests {@code Board.getChangedSquares} for an ordinary move.
+     * @MODIFIES: {@code this}
+     */
+    @Test
+    public void getChangedSquaresTest() {
+        Move move = new Move(board.getSquare(1, 0), board.getSquare(2, 2));
+        board.doMove(move);
+        assertEquals(List.of(board.getSquare(1, 0), board.getSquare(2, 2)), board.getChangedSquares(move));
+    }
+
+    /**
+     * @EFFECTS: Tests {@code Board.getChangedSquares} for an en passant capture.
+     * @MODIFIES: {@code this}
+     */
+    @Test
+    public void getChangedSquaresTestEnPassant() {
+        board.getSquare(3, 3).setPiece(new Pawn(Colour.BLACK));
+        board.doMove(new Move(board.getSquare(4, 1), board.getSquare(4, 3)));
+
+        Move move = new Move(board.getSquare(3, 3), board.getSquare(4, 2));
+        board.doMove(move);
+        assertEquals(List.of(board.getSquare(3, 3), board.getSquare(4, 2), board.getSquare(4, 3)),
+                board.getChangedSquares(move));
+    }
+
+    /**
+     * @EFFECTS: Tests {@code Board.getChangedSquares} for castles on both sides.
+     * @MODIFIES: {@code this}
+     */
+    @Test
+    public void getChangedSquaresTestCastling() {
+        for (int x = 1; x < Board.SIZE - 1; x++) {
+            if (x != 4) {
+                board.getSquare(x, 0).setPiece(null);
+                board.getSquare(x, Board.SIZE - 1).setPiece(null);
+            }
+        }
+
+        Move kingSide = new Move(board.getSquare(4, 0), board.getSquare(6, 0));
+        board.doMove(kingSide);
+        assertEquals(List.of(board.getSquare(4, 0), board.getSquare(6, 0), board.getSquare(7, 0),
+                board.getSquare(5, 0)), board.getChangedSquares(kingSide));
+
+        Move queenSide = new Move(board.getSquare(4, 7), board.getSquare(2, 7));
+        board.doMove(queenSide);
+        assertEquals(List.of(board.getSquare(4, 7), board.getSquare(2, 7), board.getSquare(0, 7),
+                board.getSquare(3, 7)), board.getChangedSquares(queenSide));
+    }
 }
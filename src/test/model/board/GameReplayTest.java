@@ -0,0 +1,81 @@
+package model.board;
+
+import model.Colour;
+import model.Move;
+import model.piece.Pawn;
+import model.piece.Queen;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contains unit tests for {@code GameReplay}.
+ */
+public class GameReplayTest {
+    private Board board;
+
+    /**
+     * @EFFECTS: Initializes the board for testing.
+     * @MODIFIES: {@code this}
+     */
+    @BeforeEach
+    public void init() {
+        board = new Board();
+        board.doMove(new Move(board.getSquare(4, 1), board.getSquare(4, 3)));
+        board.doMove(new Move(board.getSquare(3, 6), board.getSquare(3, 4)));
+        board.doMove(new Move(board.getSquare(4, 3), board.getSquare(3, 4)));
+    }
+
+    /**
+     * @EFFECTS: Tests {@code GameReplay.new}.
+     */
+    @Test
+    public void initTest() {
+        GameReplay replay = new GameReplay(board.getHistory());
+        assertEquals(3, replay.getPlyCount());
+        assertEquals(3, replay.getMoves().size());
+        assertEquals(4, replay.getMoves().get(2).getStart().getX());
+        assertTrue(replay.getMoves().get(2).getFlag(Move.CAPTURE));
+    }
+
+    /**
+     * @EFFECTS: Tests {@code GameReplay.getPosition} at the start, middle and end of the game.
+     */
+    @Test
+    public void getPositionTest() {
+        GameReplay replay = new GameReplay(board.getHistory());
+        assertTrue(replay.getPosition(0)[Board.SIZE + 4] instanceof Pawn);
+        assertNull(replay.getPosition(0)[3 * Board.SIZE + 4]);
+
+        assertNull(replay.getPosition(1)[Board.SIZE + 4]);
+        assertTrue(replay.getPosition(1)[3 * Board.SIZE + 4] instanceof Pawn);
+
+        assertEquals(Colour.WHITE, replay.getPosition(3)[4 * Board.SIZE + 3].getColour());
+        assertTrue(replay.getPosition(2)[4 * Board.SIZE + 3] instanceof Pawn);
+        assertEquals(Colour.BLACK, replay.getPosition(2)[4 * Board.SIZE + 3].getColour());
+        assertTrue(replay.getPosition(3)[3] instanceof Queen);
+    }
+
+    /**
+     * @EFFECTS: Tests {@code GameReplay.getVisibleMask} for both players.
+     */
+    @Test
+    public void getVisibleMaskTest() {
+        GameReplay replay = new GameReplay(board.getHistory());
+        for (int ply = 0; ply <= replay.getPlyCount(); ply++) {
+            Board expected = new Board();
+            for (Move move : board.getHistory().subList(0, ply)) {
+                expected.doMove(new Move(expected.getSquare(move.getStart().getX(), move.getStart().getY()),
+                        expected.getSquare(move.getEnd().getX(), move.getEnd().getY())));
+            }
+
+            for (Colour colour : Colour.values()) {
+                assertEquals(Board.getMask(expected.getVisibleSquares(colour)),
+                        replay.getVisibleMask(ply, colour));
+            }
+        }
+        assertEquals(0L, replay.getVisibleMask(0, Colour.WHITE) & 1L << (4 * Board.SIZE + 4));
+        assertNotEquals(0L, replay.getVisibleMask(0, Colour.BLACK) & 1L << (4 * Board.SIZE + 4));
+    }
+}
@@ -0,0 +1,123 @@
+package model.engine;
+
+import model.Colour;
+import model.Move;
+import model.board.Board;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contains unit tests for {@code Engine}.
+ */
+public class EngineTest {
+    // 1. b4 e5 2. e4 a6 3. Nf3 Ke7, after which white sees enough of black to predict a reply.
+    private static final int[][] OPENING = {{1, 1, 1, 3}, {4, 6, 4, 4}, {4, 1, 4, 3}, {0, 6, 0, 5}, {6, 0, 5, 2},
+            {4, 7, 4, 6}};
+
+    private Engine engine;
+    private Board board;
+
+    /**
+     * @EFFECTS: Initializes the engine and board for testing.
+     * @MODIFIES: {@code this}
+     */
+    @BeforeEach
+    public void init() {
+        engine = new Engine(2);
+        board = new Board();
+    }
+
+    /**
+     * @EFFECTS: Stops the engine after testing.
+     */
+    @AfterEach
+    public void close() {
+        engine.shutdown();
+    }
+
+    /**
+     * @EFFECTS: Tests {@code Engine.getReply}.
+     */
+    @Test
+    public void getReplyTest() {
+        Move move = engine.getReply(board).join();
+
+        assertTrue(move.isValid(board));
+        assertSame(board.getSquare(move.getStart().getX(), move.getStart().getY()), move.getStart());
+        assertEquals(0, engine.getPonderHitCount());
+    }
+
+    /**
+     * @EFFECTS: Tests {@code Engine.ponder} by playing the move that the engine predicted.
+     */
+    @Test
+    public void ponderTest() {
+        playOpening();
+        board.doMove(engine.getReply(board).join());
+        // The ponder search replaces the prediction once it finishes, so read it first.
+        Move predictedMove = engine.getPredictedMove(board);
+        engine.ponder(board);
+
+        board.doMove(predictedMove);
+        Move move = engine.getReply(board).join();
+        assertTrue(move.isValid(board));
+        assertEquals(1, engine.getPonderHitCount());
+    }
+
+    /**
+     * @EFFECTS: Tests {@code Engine.ponder} by playing a move that leaves the engine seeing a different position than
+     * the one that it predicted.
+     */
+    @Test
+    public void ponderTestMiss() {
+        playOpening();
+        board.doMove(engine.getReply(board).join());
+        long predictedHash = getKnownHash(engine.getPredictedMove(board));
+        engine.ponder(board);
+
+        for (Move move : Search.getMoves(board, false)) {
+            if (getKnownHash(move) != predictedHash) {
+                board.doMove(move);
+                break;
+            }
+        }
+        assertTrue(engine.getReply(board).join().isValid(board));
+        assertEquals(0, engine.getPonderHitCount());
+    }
+
+    /**
+     * @EFFECTS: Tests {@code Engine.getKnownBoard} by hiding the pieces that white cannot see at the start.
+     */
+    @Test
+    public void getKnownBoardTest() {
+        Board knownBoard = Engine.getKnownBoard(board, Colour.WHITE);
+
+        assertTrue(knownBoard.getSquare(4, 0).hasPiece());
+        assertFalse(knownBoard.getSquare(4, 7).hasPiece());
+        assertFalse(knownBoard.getSquare(4, 6).hasPiece());
+        assertTrue(board.getSquare(4, 7).hasPiece());
+        assertEquals(Colour.WHITE, knownBoard.getCurrentPlayer());
+    }
+
+    /**
+     * @EFFECTS: Plays the opening moves on the board.
+     * @MODIFIES: {@code this}
+     */
+    private void playOpening() {
+        for (int[] move : OPENING) {
+            board.doMove(new Move(board.getSquare(move[0], move[1]), board.getSquare(move[2], move[3])));
+        }
+    }
+
+    /**
+     * @EFFECTS: Returns the hash of the position that the opponent sees after the given move on the test board, since
+     * a move that it cannot see is still a ponder hit.
+     */
+    private long getKnownHash(Move move) {
+        Board child = Search.getChild(board, move);
+        return Zobrist.hash(Engine.getKnownBoard(child, child.getCurrentPlayer()));
+    }
+}
@@ -0,0 +1,130 @@
+package model.engine;
+
+import model.Colour;
+import model.Move;
+import model.board.Board;
+import model.piece.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contains unit tests for {@code Search}.
+ */
+public class SearchTest {
+    private Board board;
+
+    /**
+     * @EFFECTS: Initializes the board for testing with only the two kings.
+     * @MODIFIES: {@code this}
+     */
+    @BeforeEach
+    public void init() {
+        board = new Board();
+
+        // Clear the board to allow for custom positions.
+        for (int i = 0; i < Board.SIZE * Board.SIZE; i++) {
+            board.getSquare(i % Board.SIZE, i / Board.SIZE).setPiece(null);
+        }
+        board.getSquare(4, 0).setPiece(new King(Colour.WHITE));
+        board.getSquare(4, 7).setPiece(new King(Colour.BLACK));
+    }
+
+    /**
+     * @EFFECTS: Tests {@code Search.getBestMove} by leaving a piece undefended.
+     */
+    @Test
+    public void getBestMoveTest() {
+        board.getSquare(0, 0).setPiece(new Rook(Colour.WHITE));
+        board.getSquare(0, 4).setPiece(new Queen(Colour.BLACK));
+        Move move = new Search(2).getBestMove(board);
+
+        assertSame(board.getSquare(0, 0), move.getStart());
+        assertSame(board.getSquare(0, 4), move.getEnd());
+    }
+
+    /**
+     * @EFFECTS: Tests {@code Search.quiesce} by offering a defended pawn that a shallow search would take.
+     */
+    @Test
+    public void getBestMoveTestQuiescence() {
+        board.getSquare(3, 0).setPiece(new Queen(Colour.WHITE));
+        board.getSquare(3, 4).setPiece(new Pawn(Colour.BLACK));
+        board.getSquare(4, 5).setPiece(new Pawn(Colour.BLACK));
+        Search search = new Search(1);
+        Move move = search.getBestMove(board);
+
+        assertNotSame(board.getSquare(3, 4), move.getEnd());
+        assertTrue(search.getNodeCount() > 0);
+    }
+
+    /**
+     * @EFFECTS: Tests {@code Search.getBestMove} by listening for each completed depth, then stopping the search.
+     */
+    @Test
+    public void getBestMoveTestListener() {
+        board.getSquare(0, 0).setPiece(new Rook(Colour.WHITE));
+        board.getSquare(0, 4).setPiece(new Queen(Colour.BLACK));
+        List<Integer> depths = new ArrayList<>();
+        Search search = new Search(8);
+        Move move = search.getBestMove(board, s -> {
+            depths.add(s.getCompletedDepth());
+            if (s.getCompletedDepth() == 2) {
+                s.stop();
+            }
+        });
+
+        assertEquals(Arrays.asList(1, 2), depths);
+        assertTrue(search.isStopped());
+        assertSame(board.getSquare(0, 4), move.getEnd());
+        assertTrue(search.getScore() > 0);
+        assertSame(move.getEnd(), search.getPrincipalVariation(board, 3).get(0).getEnd());
+    }
+
+    /**
+     * @EFFECTS: Tests {@code Search.getMoves} by generating only captures.
+     */
+    @Test
+    public void getMovesTest() {
+        board.getSquare(3, 3).setPiece(new Knight(Colour.WHITE));
+        board.getSquare(4, 5).setPiece(new Pawn(Colour.BLACK));
+        board.getSquare(2, 5).setPiece(new Queen(Colour.BLACK));
+
+        assertEquals(2, Search.getMoves(board, true).size());
+        assertSame(board.getSquare(2, 5), Search.getMoves(board, true).get(0).getEnd());
+        assertTrue(Search.getMoves(board, false).size() > 2);
+    }
+
+    /**
+     * @EFFECTS: Tests {@code Search.getMoves} by ordering a capture by the king before the quiet moves.
+     */
+    @Test
+    public void getMovesTestKingCapture() {
+        board.getSquare(0, 0).setPiece(new Rook(Colour.WHITE));
+        board.getSquare(4, 1).setPiece(new Queen(Colour.BLACK));
+        Move move = Search.getMoves(board, false).get(0);
+
+        assertSame(board.getSquare(4, 0), move.getStart());
+        assertSame(board.getSquare(4, 1), move.getEnd());
+    }
+
+    /**
+     * @EFFECTS: Tests {@code Search.evaluate} and {@code Search.getChild}.
+     */
+    @Test
+    public void evaluateTest() {
+        board.getSquare(0, 0).setPiece(new Rook(Colour.WHITE));
+        assertEquals(500, Search.evaluate(board));
+
+        Board child = Search.getChild(board, new Move(board.getSquare(0, 0), board.getSquare(0, 7)));
+        assertEquals(-500, Search.evaluate(child));
+        assertTrue(board.getSquare(0, 0).hasPiece());
+        assertEquals(-Search.MATE, Search.evaluate(Search.getChild(child,
+                new Move(child.getSquare(4, 7), child.getSquare(4, 0)))));
+    }
+}
@@ -0,0 +1,53 @@
+package model.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contains unit tests for {@code TranspositionTable}.
+ */
+public class TranspositionTableTest {
+    private TranspositionTable table;
+
+    /**
+     * @EFFECTS: Initializes the table for testing.
+     * @MODIFIES: {@code this}
+     */
+    @BeforeEach
+    public void init() {
+        table = new TranspositionTable(4);
+    }
+
+    /**
+     * @EFFECTS: Tests {@code TranspositionTable.put} and {@code TranspositionTable.get}.
+     * @MODIFIES: {@code this}
+     */
+    @Test
+    public void putTest() {
+        assertNull(table.get(42));
+        table.put(42, 3, 100, TranspositionTable.EXACT, 7);
+
+        TranspositionTable.Entry entry = table.get(42);
+        assertEquals(3, entry.getDepth());
+        assertEquals(100, entry.getScore());
+        assertEquals(TranspositionTable.EXACT, entry.getBound());
+        assertEquals(7, entry.getMove());
+        assertNull(table.get(42 + 16));
+    }
+
+    /**
+     * @EFFECTS: Tests {@code TranspositionTable.put} by storing a shallower result for the same position.
+     * @MODIFIES: {@code this}
+     */
+    @Test
+    public void putTestShallower() {
+        table.put(42, 3, 100, TranspositionTable.EXACT, 7);
+        table.put(42, 1, -100, TranspositionTable.LOWER_BOUND, 8);
+        assertEquals(100, table.get(42).getScore());
+
+        table.put(42 + 16, 1, -100, TranspositionTable.LOWER_BOUND, 8);
+        assertEquals(-100, table.get(42 + 16).getScore());
+    }
+}
@@ -0,0 +1,53 @@
+package model.engine;
+
+import model.Move;
+import model.board.Board;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contains unit tests for {@code Zobrist}.
+ */
+public class ZobristTest {
+    private Board board;
+
+    /**
+     * @EFFECTS: Initializes the board for testing.
+     * @MODIFIES: {@code this}
+     */
+    @BeforeEach
+    public void init() {
+        board = new Board();
+    }
+
+    /**
+     * @EFFECTS: Tests {@code Zobrist.hash}.
+     */
+    @Test
+    public void hashTest() {
+        long hash = Zobrist.hash(board);
+        assertEquals(hash, Zobrist.hash(new Board()));
+
+        board.doMove(new Move(board.getSquare(6, 0), board.getSquare(5, 2)));
+        assertNotEquals(hash, Zobrist.hash(board));
+    }
+
+    /**
+     * @EFFECTS: Tests {@code Zobrist.hash} by reaching the same position in two different move orders.
+     */
+    @Test
+    public void hashTestTransposition() {
+        Board other = new Board();
+        int[][] moves = {{6, 0, 5, 2}, {6, 7, 5, 5}, {1, 0, 2, 2}, {1, 7, 2, 5}};
+        for (int i = 0; i < moves.length; i++) {
+            int[] move = moves[i];
+            int[] otherMove = moves[(i + 2) % moves.length];
+            board.doMove(new Move(board.getSquare(move[0], move[1]), board.getSquare(move[2], move[3])));
+            other.doMove(new Move(other.getSquare(otherMove[0], otherMove[1]),
+                    other.getSquare(otherMove[2], otherMove[3])));
+        }
+        assertEquals(Zobrist.hash(board), Zobrist.hash(other));
+    }
+}
@@ -55,4 +55,20 @@ public class BishopTest {
         assertFalse(validSquares.contains(board.getSquare(7, 3)));
         assertTrue(validSquares.contains(board.getSquare(0, 4)));
     }
+
+    /**
+     * @EFFECTS: Tests {@code Bishop.getCaptureSquares}.
+     * @MODIFIES: {@code this}
+     */
+    @Test
+    public void getCaptureSquaresTest() {
+        board.getSquare(2, 2).setPiece(new Pawn(Colour.BLACK));
+        board.getSquare(6, 6).setPiece(new Pawn(Colour.WHITE));
+        board.getSquare(1, 1).setPiece(new Pawn(Colour.BLACK));
+        Set<Square> captureSquares = piece.getCaptureSquares(board, board.getSquare(3, 3));
+
+        assertEquals(1, captureSquares.size());
+        assertTrue(captureSquares.contains(board.getSquare(2, 2)));
+        assertTrue(piece.getValidSquares(board, board.getSquare(3, 3)).containsAll(captureSquares));
+    }
 }
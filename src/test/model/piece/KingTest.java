@@ -125,4 +125,20 @@ public class KingTest {
         assertEquals(5, validSquares.size());
         assertFalse(validSquares.contains(board.getSquare(6, 0)));
     }
+
+    /**
+     * @EFFECTS: Tests {@code King.getCaptureSquares}.
+     * @MODIFIES: {@code this}
+     */
+    @Test
+    public void getCaptureSquaresTest() {
+        board.getSquare(3, 1).setPiece(new Pawn(Colour.BLACK));
+        board.getSquare(5, 1).setPiece(new Pawn(Colour.WHITE));
+        board.getSquare(4, 2).setPiece(new Pawn(Colour.BLACK));
+        Set<Square> captureSquares = piece.getCaptureSquares(board, board.getSquare(4, 0));
+
+        assertEquals(1, captureSquares.size());
+        assertTrue(captureSquares.contains(board.getSquare(3, 1)));
+        assertTrue(piece.getValidSquares(board, board.getSquare(4, 0)).containsAll(captureSquares));
+    }
 }
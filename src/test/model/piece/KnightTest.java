@@ -55,4 +55,20 @@ public class KnightTest {
         assertFalse(validSquares.contains(board.getSquare(6, 1)));
         assertTrue(validSquares.contains(board.getSquare(3, 2)));
     }
+
+    /**
+     * @EFFECTS: Tests {@code Knight.getCaptureSquares}.
+     * @MODIFIES: {@code this}
+     */
+    @Test
+    public void getCaptureSquaresTest() {
+        board.getSquare(5, 4).setPiece(new Pawn(Colour.BLACK));
+        board.getSquare(1, 2).setPiece(new Pawn(Colour.WHITE));
+        board.getSquare(3, 4).setPiece(new Pawn(Colour.BLACK));
+        Set<Square> captureSquares = piece.getCaptureSquares(board, board.getSquare(3, 3));
+
+        assertEquals(1, captureSquares.size());
+        assertTrue(captureSquares.contains(board.getSquare(5, 4)));
+        assertTrue(piece.getValidSquares(board, board.getSquare(3, 3)).containsAll(captureSquares));
+    }
 }
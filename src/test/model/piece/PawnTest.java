@@ -188,4 +188,21 @@ public class PawnTest {
         assertEquals(2, validSquares.size());
         assertFalse(validSquares.contains(board.getSquare(5, 1)));
     }
+
+    /**
+     * @EFFECTS: Tests {@code Pawn.getCaptureSquares} and {@code Pawn.copy}.
+     * @MODIFIES: {@code this}
+     */
+    @Test
+    public void getCaptureSquaresTest() {
+        board.getSquare(3, 1).setPiece(new Pawn(Colour.BLACK));
+        board.getSquare(4, 1).setPiece(new Pawn(Colour.BLACK));
+        Set<Square> captureSquares = piece.getCaptureSquares(board, board.getSquare(4, 0));
+
+        assertEquals(1, captureSquares.size());
+        assertTrue(captureSquares.contains(board.getSquare(3, 1)));
+
+        piece.setEnPassable(true);
+        assertTrue(((Pawn) piece.copy()).getEnPassable());
+    }
 }
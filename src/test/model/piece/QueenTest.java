@@ -55,4 +55,20 @@ public class QueenTest {
         assertFalse(validSquares.contains(board.getSquare(7, 3)));
         assertTrue(validSquares.contains(board.getSquare(0, 4)));
     }
+
+    /**
+     * @EFFECTS: Tests {@code Queen.getCaptureSquares}.
+     * @MODIFIES: {@code this}
+     */
+    @Test
+    public void getCaptureSquaresTest() {
+        board.getSquare(3, 6).setPiece(new Pawn(Colour.BLACK));
+        board.getSquare(5, 5).setPiece(new Pawn(Colour.BLACK));
+        board.getSquare(3, 1).setPiece(new Pawn(Colour.WHITE));
+        Set<Square> captureSquares = piece.getCaptureSquares(board, board.getSquare(3, 3));
+
+        assertEquals(2, captureSquares.size());
+        assertTrue(captureSquares.contains(board.getSquare(5, 5)));
+        assertTrue(piece.getValidSquares(board, board.getSquare(3, 3)).containsAll(captureSquares));
+    }
 }
@@ -66,4 +66,20 @@ public class RookTest {
         piece.setHasMoved();
         assertTrue(piece.getHasMoved());
     }
+
+    /**
+     * @EFFECTS: Tests {@code Rook.getCaptureSquares}.
+     * @MODIFIES: {@code this}
+     */
+    @Test
+    public void getCaptureSquaresTest() {
+        board.getSquare(3, 6).setPiece(new Pawn(Colour.BLACK));
+        board.getSquare(3, 1).setPiece(new Pawn(Colour.WHITE));
+        board.getSquare(6, 3).setPiece(new Pawn(Colour.BLACK));
+        Set<Square> captureSquares = piece.getCaptureSquares(board, board.getSquare(3, 3));
+
+        assertEquals(2, captureSquares.size());
+        assertTrue(captureSquares.contains(board.getSquare(3, 6)));
+        assertTrue(piece.getValidSquares(board, board.getSquare(3, 3)).containsAll(captureSquares));
+    }
 }
@@ -0,0 +1,146 @@
+package persistence;
+
+import model.Move;
+import model.board.Board;
+import model.engine.Zobrist;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contains unit tests for {@code BinaryUtils}.
+ */
+public class BinaryUtilsTest {
+    private static final String FILE_NAME = "binary-utils-test";
+    private Board board;
+    private List<Move> moves;
+
+    /**
+     * @EFFECTS: Initializes the board for testing with the moves of an existing JSON file applied.
+     * @REQUIRES: ./data/json-utils-test.cpsc
+     */
+    @BeforeEach
+    public void init() {
+        board = new Board();
+
+        try {
+            moves = JsonUtils.load("json-utils-test", board);
+            moves.forEach(board::doMove);
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * @EFFECTS: Tests {@code BinaryUtils.save}, and {@code JsonUtils.load} on a binary file.
+     * @MODIFIES: ./data/binary-utils-test.cpsc
+     */
+    @Test
+    public void saveTest() {
+        try {
+            BinaryUtils.save(FILE_NAME, moves);
+            byte[] bytes = Files.readAllBytes(Paths.get(JsonUtils.PATH + FILE_NAME + JsonUtils.EXT));
+            assertTrue(BinaryUtils.isBinary(bytes));
+            assertEquals(10 + 2 * moves.size(), bytes.length);
+
+            List<Move> loadedMoves = JsonUtils.load(FILE_NAME, new Board());
+            assertEquals(moves.size(), loadedMoves.size());
+            for (int i = 0; i < moves.size(); i++) {
+                assertEquals(moves.get(i).getStart().getX(), loadedMoves.get(i).getStart().getX());
+                assertEquals(moves.get(i).getEnd().getY(), loadedMoves.get(i).getEnd().getY());
+            }
+
+            Board replayedBoard = new Board();
+            JsonUtils.replay(FILE_NAME, replayedBoard);
+            assertEquals(moves.size(), replayedBoard.getHistory().size());
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * @EFFECTS: Tests {@code BinaryUtils.toBytes} and {@code BinaryUtils.getMetadata} with a metadata block.
+     */
+    @Test
+    public void toBytesTestMetadata() {
+        Map<String, String> metadata = Map.of("result", "1-0");
+        byte[] bytes = BinaryUtils.toBytes(moves, metadata);
+
+        assertEquals(metadata, BinaryUtils.getMetadata(bytes));
+        assertEquals(moves.size(), BinaryUtils.fromBytes(bytes, new Board()).size());
+        assertTrue(BinaryUtils.getMetadata(BinaryUtils.toBytes(moves, Collections.emptyMap())).isEmpty());
+    }
+
+    /**
+     * @EFFECTS: Tests {@code BinaryUtils.toBytes} with metadata at and over the length limit.
+     */
+    @Test
+    public void toBytesTestMetadataTooLong() {
+        String longest = "x".repeat(0xFFFF);
+        assertEquals(longest, BinaryUtils.getMetadata(BinaryUtils.toBytes(moves, Map.of("note", longest))).get("note"));
+        assertThrows(IllegalArgumentException.class, () -> BinaryUtils.toBytes(moves, Map.of("note", longest + "x")));
+        assertThrows(IllegalArgumentException.class, () -> BinaryUtils.toBytes(moves, Map.of(longest + "x", "")));
+    }
+
+    /**
+     * @EFFECTS: Tests {@code BinaryUtils.seek} with checkpoints against replaying every move.
+     */
+    @Test
+    public void seekTest() {
+        byte[] bytes = BinaryUtils.toBytes(moves, Map.of("result", "*"), 4);
+        assertEquals(moves.size(), BinaryUtils.fromBytes(bytes, new Board()).size());
+
+        Board replayedBoard = new Board();
+        for (int ply = 0; ply <= moves.size(); ply++) {
+            Board seekedBoard = BinaryUtils.seek(bytes, ply);
+            assertEquals(Zobrist.hash(replayedBoard), Zobrist.hash(seekedBoard));
+            assertEquals(ply, seekedBoard.getHistory().size());
+            assertEquals(replayedBoard.getCurrentPlayer(), seekedBoard.getCurrentPlayer());
+            for (int i = 0; i < ply; i++) {
+                assertEquals(moves.get(i).getMovedPiece().getClass(),
+                        seekedBoard.getHistory().get(i).getMovedPiece().getClass());
+                assertEquals(moves.get(i).getEnd().getX(), seekedBoard.getHistory().get(i).getEnd().getX());
+            }
+
+            if (ply < moves.size()) {
+                Move move = moves.get(ply);
+                replayedBoard.doMove(new Move(replayedBoard.getSquare(move.getStart().getX(), move.getStart().getY()),
+                        replayedBoard.getSquare(move.getEnd().getX(), move.getEnd().getY())));
+            }
+        }
+    }
+
+    /**
+     * @EFFECTS: Tests {@code BinaryUtils.seek} to a checkpoint after the game is over.
+     */
+    @Test
+    public void seekTestGameOver() {
+        // This move is actually super illegal, but it ends the game.
+        Board board = new Board();
+        board.doMove(new Move(board.getSquare(4, 0), board.getSquare(4, 7)));
+        byte[] bytes = BinaryUtils.toBytes(board.getHistory(), Collections.emptyMap(), 1);
+
+        assertFalse(BinaryUtils.seek(bytes, 0).isGameOver());
+        assertTrue(BinaryUtils.seek(bytes, 1).isGameOver());
+        assertTrue(BinaryUtils.seek(bytes, 1).getSquare(4, 7).hasPiece());
+    }
+
+    /**
+     * @EFFECTS: Tests {@code BinaryUtils.fromBytes} with an unsupported version.
+     */
+    @Test
+    public void fromBytesTestException() {
+        byte[] bytes = BinaryUtils.toBytes(moves, Collections.emptyMap());
+        bytes[4] = BinaryUtils.VERSION + 1;
+
+        assertFalse(BinaryUtils.isBinary("{}".getBytes()));
+        assertThrows(IllegalArgumentException.class, () -> BinaryUtils.fromBytes(bytes, board));
+    }
+}
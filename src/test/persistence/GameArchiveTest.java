@@ -0,0 +1,99 @@
+package persistence;
+
+import model.Move;
+import model.board.Board;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contains unit tests for {@code GameArchive}.
+ */
+public class GameArchiveTest {
+    private static final String NAME = "game-archive-test";
+    private Board board;
+
+    /**
+     * @EFFECTS: Deletes any previous test archive, and initializes a finished game for testing.
+     * @MODIFIES: ./data/game-archive-test.cpsa, ./data/game-archive-test.cpsi
+     */
+    @BeforeEach
+    public void init() throws IOException {
+        Files.deleteIfExists(Paths.get(JsonUtils.PATH + NAME + GameArchive.EXT));
+        Files.deleteIfExists(Paths.get(JsonUtils.PATH + NAME + GameArchive.INDEX_EXT));
+
+        // This move is actually super illegal, but it ends the game.
+        board = new Board();
+        board.doMove(new Move(board.getSquare(4, 0), board.getSquare(4, 7)));
+    }
+
+    /**
+     * @EFFECTS: Tests {@code GameArchive.append} and reading the games back after reopening the archive.
+     * @MODIFIES: ./data/game-archive-test.cpsa, ./data/game-archive-test.cpsi
+     */
+    @Test
+    public void appendTest() throws IOException {
+        try (GameArchive archive = new GameArchive(NAME)) {
+            assertEquals(0, archive.append(new Board()));
+            assertEquals(1, archive.append(board));
+            assertEquals(1, archive.getPlyCount(1));
+        }
+
+        try (GameArchive archive = new GameArchive(NAME)) {
+            assertEquals(2, archive.size());
+            assertEquals(GameArchive.UNFINISHED, archive.getResult(0));
+            assertEquals(GameArchive.WHITE_WINS, archive.getResult(1));
+            assertEquals(0, archive.load(0).getHistory().size());
+            assertTrue(archive.load(1).isGameOver());
+
+            assertEquals(2, archive.append(board));
+            assertTrue(archive.load(2).isGameOver());
+        }
+    }
+
+    /**
+     * @EFFECTS: Tests {@code GameArchive.getRecord} with chunks smaller than a record, so that every record spans
+     * several chunks.
+     * @MODIFIES: ./data/game-archive-test.cpsa, ./data/game-archive-test.cpsi
+     */
+    @Test
+    public void getRecordTestChunks() throws IOException {
+        try (GameArchive archive = new GameArchive(NAME, 3)) {
+            for (int i = 0; i < 4; i++) {
+                archive.append(i % 2 == 0 ? board : new Board());
+            }
+            assertArrayEquals(BinaryUtils.toBytes(board.getHistory(), Collections.emptyMap()), archive.getRecord(2));
+            assertEquals(0, archive.load(3).getHistory().size());
+
+            archive.append(board);
+            assertTrue(archive.load(4).isGameOver());
+        }
+    }
+
+    /**
+     * @EFFECTS: Tests {@code GameArchive.importFiles} and {@code GameArchive.export}.
+     * @MODIFIES: ./data/game-archive-test.cpsa, ./data/game-archive-test.cpsi, ./data/game-archive-test.cpsc
+     * @REQUIRES: ./data/json-utils-test.cpsc
+     */
+    @Test
+    public void importFilesTest() throws IOException {
+        try (GameArchive archive = new GameArchive(NAME)) {
+            int count = archive.importFiles();
+            assertTrue(count >= 4);
+            assertEquals(count, archive.size());
+
+            archive.export(0, NAME);
+            Board exportedBoard = new Board();
+            JsonUtils.replay(NAME, exportedBoard);
+            assertEquals(archive.getPlyCount(0), exportedBoard.getHistory().size());
+            assertTrue(BinaryUtils.isBinary(Files.readAllBytes(Paths.get(JsonUtils.PATH + NAME + JsonUtils.EXT))));
+            assertEquals(archive.getPlyCount(0), JsonUtils.seek(NAME, archive.getPlyCount(0)).getHistory().size());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package persistence;
+
+import model.Move;
+import model.board.Board;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contains unit tests for {@code GameCatalog}.
+ */
+public class GameCatalogTest {
+    private static final String NAME = "game-catalog-test";
+    private Path gamePath;
+    private Board board;
+
+    /**
+     * @EFFECTS: Deletes any previous test index, and saves a one-move game for testing.
+     * @MODIFIES: ./data/game-catalog-test.cpsm, ./data/game-catalog-test.cpsc
+     */
+    @BeforeEach
+    public void init() throws IOException {
+        Files.deleteIfExists(Paths.get(JsonUtils.PATH + NAME + GameCatalog.EXT));
+        gamePath = Paths.get(JsonUtils.PATH + NAME + JsonUtils.EXT);
+
+        board = new Board();
+        board.doMove(new Move(board.getSquare(4, 1), board.getSquare(4, 3)));
+        JsonUtils.save(NAME, board.getHistory());
+    }
+
+    /**
+     * @EFFECTS: Tests {@code GameCatalog.scan}, and that the index is reused after reopening the catalog.
+     * @MODIFIES: ./data/game-catalog-test.cpsm
+     * @REQUIRES: ./data/json-utils-test.cpsc
+     */
+    @Test
+    public void scanTest() throws IOException {
+        GameCatalog.Entry entry = find(new GameCatalog(NAME).scan(), NAME);
+        assertEquals(1, entry.getPlyCount());
+        assertEquals(GameArchive.UNFINISHED, entry.getResult());
+        assertEquals("1. e4", entry.getFirstMoves());
+        assertEquals(Files.getLastModifiedTime(gamePath).toMillis(), entry.getLastModified());
+        assertEquals(Files.size(gamePath), entry.getSize());
+        assertEquals(14, find(new GameCatalog(NAME).scan(), "json-utils-test").getPlyCount());
+        assertTrue(Files.exists(Paths.get(JsonUtils.PATH + NAME + GameCatalog.EXT)));
+    }
+
+    /**
+     * @EFFECTS: Tests that {@code GameCatalog.scan} updates modified games and drops deleted ones.
+     * @MODIFIES: ./data/game-catalog-test.cpsm, ./data/game-catalog-test.cpsc
+     */
+    @Test
+    public void scanTestModified() throws IOException {
+        GameCatalog catalog = new GameCatalog(NAME);
+        int count = catalog.scan().size();
+
+        board.doMove(new Move(board.getSquare(4, 6), board.getSquare(4, 4)));
+        JsonUtils.save(NAME, board.getHistory());
+        Files.setLastModifiedTime(gamePath, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+        assertEquals(2, find(new GameCatalog(NAME).scan(), NAME).getPlyCount());
+
+        Files.delete(gamePath);
+        assertEquals(count - 1, catalog.scan().size());
+        assertNull(find(catalog.scan(), NAME));
+    }
+
+    /**
+     * @EFFECTS: Tests that {@code GameCatalog.scan} updates a game that was rewritten with the same modification time.
+     * @MODIFIES: ./data/game-catalog-test.cpsm, ./data/game-catalog-test.cpsc
+     */
+    @Test
+    public void scanTestSameTime() throws IOException {
+        GameCatalog catalog = new GameCatalog(NAME);
+        FileTime modifiedTime = Files.getLastModifiedTime(gamePath);
+        catalog.scan();
+
+        board.doMove(new Move(board.getSquare(4, 6), board.getSquare(4, 4)));
+        JsonUtils.save(NAME, board.getHistory());
+        Files.setLastModifiedTime(gamePath, modifiedTime);
+        assertEquals(2, find(catalog.scan(), NAME).getPlyCount());
+    }
+
+    /**
+     * @EFFECTS: Returns the entry with the given file name, or {@code null} if there is none.
+     */
+    private static GameCatalog.Entry find(List<GameCatalog.Entry> entries, String fileName) {
+        return entries.stream().filter(entry -> entry.getFileName().equals(fileName)).findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,64 @@
+package persistence;
+
+import model.Move;
+import model.board.Board;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contains unit tests for {@code GameValidator}.
+ */
+public class GameValidatorTest {
+    private static final String NAME = "game-validator-test";
+    private static final Path DIRECTORY = Paths.get(JsonUtils.PATH + NAME);
+
+    /**
+     * @EFFECTS: Writes a legal game, an illegal game and an unreadable file to a test directory.
+     * @MODIFIES: ./data/game-validator-test/
+     */
+    @BeforeEach
+    public void init() throws IOException {
+        Files.createDirectories(DIRECTORY.resolve("nested"));
+
+        Board board = new Board();
+        board.doMove(new Move(board.getSquare(4, 1), board.getSquare(4, 3)));
+        JsonUtils.save(NAME + "/legal", board.getHistory());
+
+        // The second move is black moving a white piece.
+        board.doMove(new Move(board.getSquare(4, 3), board.getSquare(4, 4)));
+        JsonUtils.save(NAME + "/nested/illegal", board.getHistory());
+
+        Files.writeString(DIRECTORY.resolve("unreadable" + JsonUtils.EXT), "{\"moves\":[[4,1,");
+    }
+
+    /**
+     * @EFFECTS: Tests {@code GameValidator.validate}.
+     * @REQUIRES: ./data/json-utils-test.cpsc
+     */
+    @Test
+    public void validateTest() {
+        assertEquals(GameValidator.VALID, GameValidator.validate(Paths.get(JsonUtils.PATH + "json-utils-test.cpsc")));
+        assertEquals(GameValidator.VALID, GameValidator.validate(DIRECTORY.resolve("legal" + JsonUtils.EXT)));
+        assertEquals(1, GameValidator.validate(DIRECTORY.resolve("nested/illegal" + JsonUtils.EXT)));
+        assertEquals(GameValidator.UNREADABLE, GameValidator.validate(DIRECTORY.resolve("missing" + JsonUtils.EXT)));
+    }
+
+    /**
+     * @EFFECTS: Tests {@code GameValidator.validateAll}.
+     */
+    @Test
+    public void validateAllTest() throws IOException {
+        Map<Path, Integer> results = GameValidator.validateAll(DIRECTORY);
+        assertEquals(3, results.size());
+        assertEquals(List.of(GameValidator.VALID, 1, GameValidator.UNREADABLE), List.copyOf(results.values()));
+    }
+}
@@ -5,6 +5,8 @@ import model.board.Board;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,6 +53,63 @@ public class JsonUtilsTest {
         }
     }
 
+    /**
+     * @EFFECTS: Tests {@code JsonUtils.replay}.
+     */
+    @Test
+    public void replayTest() {
+        try {
+            Board replayedBoard = new Board();
+            JsonUtils.replay(FILE_NAME, replayedBoard);
+            assertEquals(moves.size(), replayedBoard.getHistory().size());
+            assertTrue(replayedBoard.getSquare(5, 2).hasPiece());
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * @EFFECTS: Tests {@code JsonUtils.seek}.
+     */
+    @Test
+    public void seekTest() {
+        try {
+            Board seekedBoard = JsonUtils.seek(FILE_NAME, 3);
+            assertEquals(3, seekedBoard.getHistory().size());
+            assertEquals(moves.size(), JsonUtils.seek(FILE_NAME, moves.size()).getHistory().size());
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * @EFFECTS: Tests {@code JsonUtils.replay} and {@code JsonUtils.save} with progress reporting.
+     * @MODIFIES: ./data/json-utils-test.cpsc
+     */
+    @Test
+    public void progressTest() {
+        try {
+            List<Integer> progress = new ArrayList<>();
+            JsonUtils.save(FILE_NAME, moves, progress::add);
+            JsonUtils.replay(FILE_NAME, new Board(), progress::add);
+            assertEquals(List.of(0, 100, 100), progress);
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * @EFFECTS: Tests that an interrupted {@code JsonUtils.save} leaves the existing file intact.
+     * @MODIFIES: ./data/json-utils-test.cpsc
+     */
+    @Test
+    public void saveTestInterrupted() {
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedIOException.class, () -> JsonUtils.save(FILE_NAME, moves.subList(0, 1)));
+        assertFalse(Thread.interrupted());
+        loadTest();
+    }
+
     /**
      * @EFFECTS: Tests {@code JsonUtils.load} by trying to load a non-existent file.
      */
@@ -0,0 +1,91 @@
+package persistence;
+
+import model.Move;
+import model.board.Board;
+import model.engine.Zobrist;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contains unit tests for {@code MoveCodec}.
+ */
+public class MoveCodecTest {
+    private Board board;
+    private List<Move> moves;
+
+    /**
+     * @EFFECTS: Initializes the board for testing with the moves of an existing JSON file applied.
+     * @REQUIRES: ./data/json-utils-test.cpsc
+     */
+    @BeforeEach
+    public void init() {
+        board = new Board();
+
+        try {
+            moves = JsonUtils.load("json-utils-test", board);
+            moves.forEach(board::doMove);
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * @EFFECTS: Tests {@code MoveCodec.encode} and {@code MoveCodec.decode} with and without Deflate.
+     */
+    @Test
+    public void encodeTest() {
+        for (boolean isDeflated : new boolean[] {false, true}) {
+            byte[] bytes = MoveCodec.encode(moves, isDeflated);
+            Board decodedBoard = MoveCodec.decode(bytes);
+
+            assertEquals(moves.size(), decodedBoard.getHistory().size());
+            assertEquals(Zobrist.hash(board), Zobrist.hash(decodedBoard));
+        }
+
+        // Every move is legal here, so each takes a single byte after the count.
+        assertEquals(2 + moves.size(), MoveCodec.encode(moves, false).length);
+        assertTrue(MoveCodec.encode(moves, false).length < BinaryUtils.toBytes(moves, Collections.emptyMap()).length);
+    }
+
+    /**
+     * @EFFECTS: Tests {@code MoveCodec.encode} and {@code MoveCodec.decode} with a move that is not legal.
+     */
+    @Test
+    public void encodeTestIllegal() {
+        // This move is actually super illegal, but it ends the game.
+        Board illegalBoard = new Board();
+        illegalBoard.doMove(new Move(illegalBoard.getSquare(4, 0), illegalBoard.getSquare(4, 7)));
+        Board decodedBoard = MoveCodec.decode(MoveCodec.encode(illegalBoard.getHistory(), true));
+
+        assertEquals(1, decodedBoard.getHistory().size());
+        assertTrue(decodedBoard.isGameOver());
+    }
+
+    /**
+     * @EFFECTS: Tests {@code MoveCodec.decode} with truncated compressed data.
+     */
+    @Test
+    public void decodeTestException() {
+        byte[] bytes = MoveCodec.encode(moves, true);
+        assertThrows(IllegalArgumentException.class,
+                () -> MoveCodec.decode(Arrays.copyOf(bytes, bytes.length / 2)));
+    }
+
+    /**
+     * @EFFECTS: Tests {@code MoveCodec.decode} with a move index past the escape index, and an escaped move that is
+     * out of range.
+     */
+    @Test
+    public void decodeTestOutOfRange() {
+        // There are 20 moves at the start, so index 20 is the escape index.
+        assertThrows(IllegalArgumentException.class, () -> MoveCodec.decode(new byte[] {0, 1, 21}));
+        assertThrows(IllegalArgumentException.class,
+                () -> MoveCodec.decode(new byte[] {0, 1, 20, (byte) 0x80, (byte) 0x80, 0x01}));
+    }
+}
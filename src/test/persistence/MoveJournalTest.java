@@ -0,0 +1,146 @@
+package persistence;
+
+import model.Move;
+import model.board.Board;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contains unit tests for {@code MoveJournal}.
+ */
+public class MoveJournalTest {
+    private static final String NAME = "move-journal-test";
+    private Path path;
+    private Board board;
+
+    /**
+     * @EFFECTS: Deletes any previous test journal, and initializes a board for testing.
+     * @MODIFIES: ./data/move-journal-test.cpsj
+     */
+    @BeforeEach
+    public void init() throws IOException {
+        path = Paths.get(JsonUtils.PATH + NAME + MoveJournal.EXT);
+        Files.deleteIfExists(path);
+        board = new Board();
+    }
+
+    /**
+     * @EFFECTS: Tests that moves journaled by {@code Board.doMove} are recovered after reopening the journal.
+     * @MODIFIES: ./data/move-journal-test.cpsj
+     */
+    @Test
+    public void recoverTest() throws IOException {
+        try (MoveJournal journal = new MoveJournal(NAME)) {
+            board.addMoveListener(journal);
+            doMoves();
+            journal.flush();
+            assertEquals(4, journal.getMoveCount());
+        }
+
+        Board recoveredBoard = new Board();
+        try (MoveJournal journal = new MoveJournal(NAME)) {
+            assertEquals(4, journal.recover(recoveredBoard));
+        }
+        assertEquals(4, recoveredBoard.getHistory().size());
+        assertNotNull(recoveredBoard.getSquare(4, 3).getPiece());
+        assertNull(recoveredBoard.getSquare(4, 1).getPiece());
+    }
+
+    /**
+     * @EFFECTS: Tests that a torn record at the end of the journal is discarded on recovery.
+     * @MODIFIES: ./data/move-journal-test.cpsj
+     */
+    @Test
+    public void recoverTornTest() throws IOException {
+        try (MoveJournal journal = new MoveJournal(NAME)) {
+            board.addMoveListener(journal);
+            doMoves();
+        }
+        Files.write(path, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (MoveJournal journal = new MoveJournal(NAME)) {
+            assertEquals(4, journal.recover(new Board()));
+        }
+        assertEquals(16, Files.size(path));
+    }
+
+    /**
+     * @EFFECTS: Tests that {@code MoveJournal.reset} replaces the journal, and that moves are synced in groups.
+     * @MODIFIES: ./data/move-journal-test.cpsj
+     */
+    @Test
+    public void resetTest() throws IOException {
+        try (MoveJournal journal = new MoveJournal(NAME, 1000, 1000)) {
+            board.addMoveListener(journal);
+            doMoves();
+            journal.reset(board.getHistory().subList(0, 2));
+            assertEquals(2, journal.getSyncCount());
+            assertTrue(journal.getMaxLatency() >= journal.getAverageLatency());
+        }
+
+        try (MoveJournal journal = new MoveJournal(NAME)) {
+            assertEquals(2, journal.recover(new Board()));
+        }
+    }
+
+    /**
+     * @EFFECTS: Tests that the tag written by {@code MoveJournal.reset} is read back with the moves on recovery.
+     * @MODIFIES: ./data/move-journal-test.cpsj
+     */
+    @Test
+    public void recoverTestTag() throws IOException {
+        try (MoveJournal journal = new MoveJournal(NAME)) {
+            journal.reset(board.getHistory(), 2);
+            board.addMoveListener(journal);
+            doMoves();
+        }
+        assertEquals(20, Files.size(path));
+
+        try (MoveJournal journal = new MoveJournal(NAME)) {
+            assertEquals(4, journal.recover(new Board()));
+            assertEquals(2, journal.getTag());
+            journal.reset(board.getHistory());
+            assertEquals(0, journal.getTag());
+        }
+        assertEquals(16, Files.size(path));
+    }
+
+    /**
+     * @EFFECTS: Tests that once the background thread fails, moves are no longer queued and every flush throws.
+     * @MODIFIES: ./data/move-journal-test.cpsj
+     */
+    @Test
+    public void flushTestFailed() throws IOException, InterruptedException {
+        MoveJournal journal = new MoveJournal(NAME);
+        Thread flusher = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("journal-" + NAME)).findAny().orElseThrow();
+        flusher.interrupt();
+        flusher.join();
+
+        assertTrue(journal.isFailed());
+        board.addMoveListener(journal);
+        doMoves();
+        assertThrows(IOException.class, journal::flush);
+        assertThrows(IOException.class, journal::close);
+        assertEquals(0, journal.getMoveCount());
+    }
+
+    /**
+     * @EFFECTS: Plays 1. e4 e5 2. Nf3 Nc6 on the test board.
+     * @MODIFIES: {@code this}
+     */
+    private void doMoves() {
+        board.doMove(new Move(board.getSquare(4, 1), board.getSquare(4, 3)));
+        board.doMove(new Move(board.getSquare(4, 6), board.getSquare(4, 4)));
+        board.doMove(new Move(board.getSquare(6, 0), board.getSquare(5, 2)));
+        board.doMove(new Move(board.getSquare(1, 7), board.getSquare(2, 5)));
+    }
+}
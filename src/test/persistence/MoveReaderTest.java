@@ -0,0 +1,72 @@
+package persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contains unit tests for {@code MoveReader}.
+ */
+public class MoveReaderTest {
+    private static final Path PATH = Paths.get(JsonUtils.PATH + "move-reader-test" + JsonUtils.EXT);
+
+    /**
+     * @EFFECTS: Tests {@code MoveReader.next} on an existing JSON file.
+     * @REQUIRES: ./data/json-utils-test.cpsc
+     */
+    @Test
+    public void nextTest() {
+        int[] move = new int[4];
+        int count = 0;
+
+        try (MoveReader reader = new MoveReader(Paths.get(JsonUtils.PATH + "json-utils-test" + JsonUtils.EXT))) {
+            while (reader.next(move)) {
+                count++;
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+        assertEquals(14, count);
+        assertArrayEquals(new int[]{5, 7, 3, 5}, move);
+    }
+
+    /**
+     * @EFFECTS: Tests {@code MoveReader.next} with whitespace and keys other than the moves.
+     * @MODIFIES: ./data/move-reader-test.cpsc
+     */
+    @Test
+    public void nextTestWhitespace() throws IOException {
+        Files.writeString(PATH, "{ \"name\": \"a \\\"b\\\" [c]\", \"tags\": [1, {\"x\": null}], \"ply\": -2.5e1,\n"
+                + "  \"moves\" : [ [4, 1, 4, 3] ,\n[4,6,4,4] ] }");
+        int[] move = new int[4];
+
+        try (MoveReader reader = new MoveReader(PATH)) {
+            assertTrue(reader.next(move));
+            assertArrayEquals(new int[]{4, 1, 4, 3}, move);
+            assertTrue(reader.next(move));
+            assertArrayEquals(new int[]{4, 6, 4, 4}, move);
+            assertFalse(reader.next(move));
+            assertFalse(reader.next(move));
+        }
+    }
+
+    /**
+     * @EFFECTS: Tests {@code MoveReader.new} and {@code MoveReader.next} on malformed files.
+     * @MODIFIES: ./data/move-reader-test.cpsc
+     */
+    @Test
+    public void nextTestException() throws IOException {
+        Files.writeString(PATH, "{\"name\": \"a\"}");
+        assertThrows(IllegalArgumentException.class, () -> new MoveReader(PATH).close());
+
+        Files.writeString(PATH, "{\"moves\": [[1, 2, 3], [4, 5, 6, 7]]}");
+        try (MoveReader reader = new MoveReader(PATH)) {
+            assertThrows(IllegalArgumentException.class, () -> reader.next(new int[4]));
+        }
+    }
+}
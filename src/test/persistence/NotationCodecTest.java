@@ -0,0 +1,102 @@
+package persistence;
+
+import model.Move;
+import model.board.Board;
+import model.engine.Zobrist;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contains unit tests for {@code NotationCodec}.
+ */
+public class NotationCodecTest {
+    private Board board;
+
+    /**
+     * @EFFECTS: Initializes the board for testing.
+     */
+    @BeforeEach
+    public void init() {
+        board = new Board();
+    }
+
+    /**
+     * @EFFECTS: Tests {@code NotationCodec.write} and {@code NotationCodec.read} on the demo games.
+     * @REQUIRES: ./data/demo-castling.cpsc, ./data/demo-en-passant.cpsc, ./data/demo-promotion.cpsc
+     */
+    @Test
+    public void writeTest() throws IOException {
+        for (String fileName : new String[] {"demo-castling", "demo-en-passant", "demo-promotion", "json-utils-test"}) {
+            Board savedBoard = new Board();
+            JsonUtils.replay(fileName, savedBoard);
+
+            StringBuilder stringBuilder = new StringBuilder();
+            NotationCodec.write(stringBuilder, savedBoard.getHistory());
+            Board readBoard = new Board();
+            assertEquals(savedBoard.getHistory().size(), NotationCodec.read(
+                    new StringReader(stringBuilder.toString()), readBoard));
+            assertEquals(Zobrist.hash(savedBoard), Zobrist.hash(readBoard));
+        }
+    }
+
+    /**
+     * @EFFECTS: Tests the notation of special moves.
+     * @REQUIRES: ./data/demo-castling.cpsc, ./data/demo-en-passant.cpsc, ./data/demo-promotion.cpsc
+     */
+    @Test
+    public void toStringsTest() throws IOException {
+        JsonUtils.replay("demo-en-passant", board);
+        assertEquals(List.of("e4", "d5", "e5", "d4", "c4"), NotationCodec.toStrings(board.getHistory()));
+
+        StringBuilder stringBuilder = new StringBuilder();
+        NotationCodec.appendMove(stringBuilder, board, new Move(board.getSquare(3, 3), board.getSquare(2, 2)));
+        assertEquals("dxc3", stringBuilder.toString());
+
+        Board promotionBoard = new Board();
+        JsonUtils.replay("demo-promotion", promotionBoard);
+        assertEquals("axb7", NotationCodec.toStrings(promotionBoard.getHistory()).get(6));
+        assertEquals("hxg2", NotationCodec.toStrings(promotionBoard.getHistory()).get(7));
+
+        Board castlingBoard = new Board();
+        JsonUtils.replay("demo-castling", castlingBoard);
+        stringBuilder.setLength(0);
+        NotationCodec.appendMove(stringBuilder, castlingBoard,
+                new Move(castlingBoard.getSquare(4, 7), castlingBoard.getSquare(6, 7)));
+        assertEquals("O-O", stringBuilder.toString());
+        assertEquals(castlingBoard.getSquare(4, 7), NotationCodec.parseMove("O-O", castlingBoard).getStart());
+    }
+
+    /**
+     * @EFFECTS: Tests that two knights reaching the same square are disambiguated by file.
+     */
+    @Test
+    public void parseMoveTestDisambiguation() throws IOException {
+        NotationCodec.read(new StringReader("1. d4 a6 2. Nf3 a5"), board);
+        assertThrows(IllegalArgumentException.class, () -> NotationCodec.parseMove("Nd2", board));
+
+        Move move = NotationCodec.parseMove("Nbd2", board);
+        assertEquals(1, move.getStart().getX());
+        StringBuilder stringBuilder = new StringBuilder();
+        NotationCodec.appendMove(stringBuilder, board, move);
+        assertEquals("Nbd2", stringBuilder.toString());
+        assertEquals(5, NotationCodec.parseMove("Nfd2+", board).getStart().getX());
+    }
+
+    /**
+     * @EFFECTS: Tests {@code NotationCodec.parseMove} with malformed and illegal moves.
+     */
+    @Test
+    public void parseMoveTestException() {
+        assertThrows(IllegalArgumentException.class, () -> NotationCodec.parseMove("e9", board));
+        assertThrows(IllegalArgumentException.class, () -> NotationCodec.parseMove("e5", board));
+        assertThrows(IllegalArgumentException.class, () -> NotationCodec.parseMove("Ke2", board));
+        assertThrows(IllegalArgumentException.class, () -> NotationCodec.parseMove("O-O", board));
+        assertThrows(IllegalArgumentException.class, () -> NotationCodec.parseMove("Nz3", board));
+    }
+}
@@ -0,0 +1,122 @@
+package persistence;
+
+import model.Move;
+import model.board.Board;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contains unit tests for {@code PositionIndex}.
+ */
+public class PositionIndexTest {
+    private static final String NAME = "position-index-test";
+    private GameArchive archive;
+    private Board board;
+
+    /**
+     * @EFFECTS: Deletes any previous test archive and index, and initializes an archive with one game for testing.
+     * @MODIFIES: ./data/position-index-test*
+     * @REQUIRES: ./data/json-utils-test.cpsc
+     */
+    @BeforeEach
+    public void init() throws IOException {
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(Paths.get(JsonUtils.PATH), NAME + "*")) {
+            for (Path path : paths) {
+                Files.delete(path);
+            }
+        }
+
+        archive = new GameArchive(NAME);
+        board = new Board();
+        JsonUtils.replay("json-utils-test", board);
+        archive.append(board);
+    }
+
+    /**
+     * @EFFECTS: Closes the archive after testing.
+     */
+    @AfterEach
+    public void close() throws IOException {
+        archive.close();
+    }
+
+    /**
+     * @EFFECTS: Tests {@code PositionIndex.update} and {@code PositionIndex.find}.
+     * @MODIFIES: ./data/position-index-test*
+     */
+    @Test
+    public void findTest() throws IOException {
+        PositionIndex index = new PositionIndex(NAME);
+        assertEquals(1, index.update(archive));
+
+        List<int[]> occurrences = index.find(board);
+        assertEquals(1, occurrences.size());
+        assertArrayEquals(new int[]{0, 14}, occurrences.get(0));
+        assertArrayEquals(new int[]{0, 0}, index.find(new Board()).get(0));
+        assertEquals(0, index.update(archive));
+    }
+
+    /**
+     * @EFFECTS: Tests {@code PositionIndex.update} by adding a game after the index was built, then reopening it.
+     * @MODIFIES: ./data/position-index-test*
+     */
+    @Test
+    public void updateTest() throws IOException {
+        new PositionIndex(NAME).update(archive);
+        Board otherBoard = new Board();
+        otherBoard.doMove(new Move(otherBoard.getSquare(3, 1), otherBoard.getSquare(3, 3)));
+        archive.append(otherBoard);
+        archive.append(board);
+
+        PositionIndex index = new PositionIndex(NAME);
+        assertEquals(1, index.getIndexedCount());
+        assertEquals(2, index.update(archive));
+        assertEquals(3, new PositionIndex(NAME).getIndexedCount());
+
+        // The first move of the stored game is the same as the other game.
+        assertEquals(3, new PositionIndex(NAME).find(otherBoard).size());
+        assertEquals(2, index.find(board).size());
+    }
+
+    /**
+     * @EFFECTS: Tests {@code PositionIndex.update} by indexing one game at a time, which merges the runs so that there
+     * are only a few of them.
+     * @MODIFIES: ./data/position-index-test*
+     */
+    @Test
+    public void updateTestMerge() throws IOException {
+        PositionIndex index = new PositionIndex(NAME);
+        index.update(archive);
+        for (int i = 0; i < 15; i++) {
+            archive.append(board);
+            assertEquals(1, index.update(archive));
+        }
+
+        List<Path> runPaths = new ArrayList<>();
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(Paths.get(JsonUtils.PATH),
+                NAME + "-*" + PositionIndex.EXT)) {
+            paths.forEach(runPaths::add);
+        }
+        assertTrue(runPaths.size() <= 4);
+        assertEquals(16, index.find(board).size());
+        assertEquals(16, new PositionIndex(NAME).find(board).size());
+        assertEquals(16, new PositionIndex(NAME).getIndexedCount());
+
+        // The starting position is reached by every game, which are listed in order of id.
+        List<int[]> occurrences = index.find(new Board());
+        for (int i = 0; i < occurrences.size(); i++) {
+            assertArrayEquals(new int[]{i, 0}, occurrences.get(i));
+        }
+    }
+}